@@ -0,0 +1,286 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holding the mapped columns of an entity class, and generating the source code of the mapping classes.
+ * <p/>
+ * The generated sources keep the Java 6 syntax because they would be compiling with the Android project.
+ */
+class EntityInfo {
+    static final String ROW_MAPPER_SUFFIX = "_RowMapper";
+    static final String INSERT_OPERATOR_SUFFIX = "_InsertOperator";
+    static final String UPDATE_OPERATOR_SUFFIX = "_UpdateOperator";
+
+    private static final String LIBRARY_PACKAGE = "com.vincestyling.asqliteplus";
+
+    private final String mPackageName;
+    private final String mSimpleName;
+    private final String mTable;
+
+    private final List<ColumnInfo> mColumns = new ArrayList<ColumnInfo>();
+    private ColumnInfo mPrimaryKey;
+
+    EntityInfo(String packageName, String simpleName, String table) {
+        mPackageName = packageName;
+        mSimpleName = simpleName;
+        mTable = table;
+    }
+
+    void addColumn(ColumnInfo column) {
+        mColumns.add(column);
+        if (column.primaryKey) mPrimaryKey = column;
+    }
+
+    List<ColumnInfo> getColumns() {
+        return mColumns;
+    }
+
+    ColumnInfo getPrimaryKey() {
+        return mPrimaryKey;
+    }
+
+    /**
+     * @return true if there is any column except the primary key, which the UpdateOperator could be setting.
+     */
+    boolean hasUpdatableColumns() {
+        return mColumns.size() > (mPrimaryKey != null ? 1 : 0);
+    }
+
+    String getRowMapperName() {
+        return getQualifiedName(ROW_MAPPER_SUFFIX);
+    }
+
+    String getInsertOperatorName() {
+        return getQualifiedName(INSERT_OPERATOR_SUFFIX);
+    }
+
+    String getUpdateOperatorName() {
+        return getQualifiedName(UPDATE_OPERATOR_SUFFIX);
+    }
+
+    private String getQualifiedName(String suffix) {
+        return mPackageName.length() > 0 ? mPackageName + '.' + mSimpleName + suffix : mSimpleName + suffix;
+    }
+
+    /**
+     * Generating the RowMapper which resolving the column indexes once per Cursor, the columns absent
+     * from the Cursor would be left as the default values of the entity.
+     */
+    String generateRowMapper() {
+        String className = mSimpleName + ROW_MAPPER_SUFFIX;
+        StringBuilder source = new StringBuilder(2048);
+        appendHeader(source, "android.database.Cursor", LIBRARY_PACKAGE + ".RowMapper");
+
+        source.append("/**\n")
+                .append(" * Mapping the rows of \"").append(mTable).append("\" to {@link ").append(mSimpleName).append("}.\n")
+                .append(" * <p/>\n")
+                .append(" * The column indexes are resolved for the latest mapping Cursor, so an instance\n")
+                .append(" * shouldn't be sharing between threads, but it's cheap to create a new one.\n")
+                .append(" */\n")
+                .append("public class ").append(className).append(" implements RowMapper<").append(mSimpleName).append("> {\n")
+                .append("    private Cursor mCursor;\n")
+                .append("    private final int[] mIndexes = new int[").append(mColumns.size()).append("];\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(mSimpleName).append(" mapRow(Cursor cursor) {\n")
+                .append("        if (mCursor != cursor) {\n");
+        for (int i = 0; i < mColumns.size(); i++) {
+            source.append("            mIndexes[").append(i).append("] = cursor.getColumnIndex(")
+                    .append(quote(mColumns.get(i).name)).append(");\n");
+        }
+        source.append("            mCursor = cursor;\n")
+                .append("        }\n\n")
+                .append("        ").append(mSimpleName).append(" entity = new ").append(mSimpleName).append("();\n");
+        for (int i = 0; i < mColumns.size(); i++) {
+            ColumnInfo column = mColumns.get(i);
+            source.append("        if (mIndexes[").append(i).append("] != -1) entity.").append(column.setter).append('(')
+                    .append("cursor.").append(column.kind.cursorGetter).append("(mIndexes[").append(i).append("])");
+            if (column.kind == EntityProcessor.ColumnKind.BOOLEAN) source.append(" != 0");
+            source.append(");\n");
+        }
+        source.append("        return entity;\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * Generating the InsertOperator, the auto increment column would be omitted.
+     */
+    String generateInsertOperator() {
+        List<ColumnInfo> columns = new ArrayList<ColumnInfo>(mColumns.size());
+        for (ColumnInfo column : mColumns) {
+            if (!column.autoIncrement) columns.add(column);
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(mTable).append('(');
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(columns.get(i).name);
+        }
+        sql.append(") VALUES(");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        sql.append(')');
+
+        String className = mSimpleName + INSERT_OPERATOR_SUFFIX;
+        StringBuilder source = new StringBuilder(2048);
+        appendHeader(source, "android.database.sqlite.SQLiteStatement", LIBRARY_PACKAGE + ".DBBinder",
+                LIBRARY_PACKAGE + ".DBOperator", LIBRARY_PACKAGE + ".statement.CreateStatement");
+
+        source.append("/**\n")
+                .append(" * Inserting {@link ").append(mSimpleName).append("} into \"").append(mTable).append("\",\n")
+                .append(" * works with both the DBOperator and DBBinder style batch of DBOverseer.\n")
+                .append(" */\n")
+                .append("public class ").append(className).append(" implements DBOperator<").append(mSimpleName)
+                .append(">, DBBinder<").append(mSimpleName).append("> {\n")
+                .append("    public static final String SQL = ").append(quote(sql.toString())).append(";\n\n")
+                .append("    @Override\n")
+                .append("    public Object produce(").append(mSimpleName).append(" entity) {\n")
+                .append("        return CreateStatement.produce(").append(quote(mTable)).append(").binding()\n")
+                .append("                .columns(");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) source.append(", ");
+            source.append(quote(columns.get(i).name));
+        }
+        source.append(")\n")
+                .append("                .values(");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) source.append(", ");
+            source.append("entity.").append(columns.get(i).getter).append("()");
+        }
+        source.append(");\n")
+                .append("    }\n\n");
+
+        appendBinder(source, columns, null);
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * Generating the UpdateOperator which updating all the other columns by the primary key,
+     * should be called only if {@link #hasUpdatableColumns()}.
+     */
+    String generateUpdateOperator() {
+        List<ColumnInfo> columns = new ArrayList<ColumnInfo>(mColumns.size());
+        for (ColumnInfo column : mColumns) {
+            if (column != mPrimaryKey) columns.add(column);
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE ").append(mTable).append(" SET ");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(columns.get(i).name).append(" = ?");
+        }
+        sql.append(" WHERE ").append(mPrimaryKey.name).append(" = ?");
+
+        String className = mSimpleName + UPDATE_OPERATOR_SUFFIX;
+        StringBuilder source = new StringBuilder(2048);
+        appendHeader(source, "android.database.sqlite.SQLiteStatement", LIBRARY_PACKAGE + ".DBBinder",
+                LIBRARY_PACKAGE + ".DBOperator", LIBRARY_PACKAGE + ".statement.UpdateStatement");
+
+        source.append("/**\n")
+                .append(" * Updating {@link ").append(mSimpleName).append("} of \"").append(mTable)
+                .append("\" by the primary key,\n")
+                .append(" * works with both the DBOperator and DBBinder style batch of DBOverseer.\n")
+                .append(" */\n")
+                .append("public class ").append(className).append(" implements DBOperator<").append(mSimpleName)
+                .append(">, DBBinder<").append(mSimpleName).append("> {\n")
+                .append("    public static final String SQL = ").append(quote(sql.toString())).append(";\n\n")
+                .append("    @Override\n")
+                .append("    public Object produce(").append(mSimpleName).append(" entity) {\n")
+                .append("        return UpdateStatement.produce(").append(quote(mTable)).append(").binding()\n");
+        for (ColumnInfo column : columns) {
+            source.append("                .set(").append(quote(column.name)).append(", entity.")
+                    .append(column.getter).append("())\n");
+        }
+        source.append("                .where(").append(quote(mPrimaryKey.name)).append(").eq(entity.")
+                .append(mPrimaryKey.getter).append("());\n")
+                .append("    }\n\n");
+
+        appendBinder(source, columns, mPrimaryKey);
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private void appendBinder(StringBuilder source, List<ColumnInfo> columns, ColumnInfo primaryKey) {
+        source.append("    @Override\n")
+                .append("    public Object produce() {\n")
+                .append("        return SQL;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void bind(SQLiteStatement statement, ").append(mSimpleName).append(" entity) {\n");
+
+        int index = 0;
+        for (ColumnInfo column : columns) {
+            appendBind(source, column, ++index);
+        }
+        if (primaryKey != null) appendBind(source, primaryKey, ++index);
+
+        source.append("    }\n");
+    }
+
+    private static void appendBind(StringBuilder source, ColumnInfo column, int index) {
+        String value = "entity." + column.getter + "()";
+        if (column.kind.nullable) {
+            source.append("        if (").append(value).append(" != null) statement.").append(column.kind.statementBinder)
+                    .append('(').append(index).append(", ").append(value).append(");\n")
+                    .append("        else statement.bindNull(").append(index).append(");\n");
+        } else if (column.kind == EntityProcessor.ColumnKind.BOOLEAN) {
+            source.append("        statement.bindLong(").append(index).append(", ").append(value).append(" ? 1 : 0);\n");
+        } else {
+            source.append("        statement.").append(column.kind.statementBinder).append('(').append(index)
+                    .append(", ").append(value).append(");\n");
+        }
+    }
+
+    private void appendHeader(StringBuilder source, String... imports) {
+        source.append("// Generated by the aSQLite+ annotation processor, DO NOT EDIT.\n");
+        if (mPackageName.length() > 0) source.append("package ").append(mPackageName).append(";\n");
+        source.append('\n');
+        for (String imported : imports) {
+            source.append("import ").append(imported).append(";\n");
+        }
+        source.append('\n');
+    }
+
+    private static String quote(String text) {
+        return '"' + text.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    static class ColumnInfo {
+        final String name;
+        final EntityProcessor.ColumnKind kind;
+        final String setter;
+        final String getter;
+        final boolean primaryKey;
+        final boolean autoIncrement;
+
+        ColumnInfo(String name, EntityProcessor.ColumnKind kind, String setter, String getter,
+                   boolean primaryKey, boolean autoIncrement) {
+            this.name = name;
+            this.kind = kind;
+            this.setter = setter;
+            this.getter = getter;
+            this.primaryKey = primaryKey;
+            this.autoIncrement = autoIncrement;
+        }
+    }
+}
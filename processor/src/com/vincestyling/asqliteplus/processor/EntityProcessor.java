@@ -0,0 +1,314 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * The annotation processor which generating the RowMapper and operators for every class annotated with
+ * {@value #ENTITY_ANNOTATION}, see that annotation for more details about the generated classes.
+ * <p/>
+ * This processor only referencing the annotations by name, thus it doesn't depend on the library at all.
+ */
+public class EntityProcessor extends AbstractProcessor {
+    static final String ENTITY_ANNOTATION = "com.vincestyling.asqliteplus.annotation.Entity";
+    static final String COLUMN_ANNOTATION = "com.vincestyling.asqliteplus.annotation.Column";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ENTITY_ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "Only classes can be annotated with @Entity.");
+                    continue;
+                }
+
+                EntityInfo entity = parseEntity((TypeElement) element);
+                if (entity == null) continue;
+
+                writeSource(entity.getRowMapperName(), entity.generateRowMapper(), element);
+                writeSource(entity.getInsertOperatorName(), entity.generateInsertOperator(), element);
+                if (entity.getPrimaryKey() != null) {
+                    if (entity.hasUpdatableColumns()) {
+                        writeSource(entity.getUpdateOperatorName(), entity.generateUpdateOperator(), element);
+                    } else {
+                        warning(element, "Skipping the UpdateOperator because there is no column except the primary key.");
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collecting the mapped columns of the entity class.
+     *
+     * @param type the entity class.
+     * @return the entity info, or null if any error occurred.
+     */
+    private EntityInfo parseEntity(TypeElement type) {
+        if (!hasEmptyConstructor(type)) {
+            error(type, "The @Entity class must have a public empty constructor.");
+            return null;
+        }
+
+        String table = getStringValue(getAnnotation(type, ENTITY_ANNOTATION), "table");
+        if (table.length() == 0) table = type.getSimpleName().toString();
+
+        EntityInfo entity = new EntityInfo(
+                processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString(),
+                type.getSimpleName().toString(), table);
+
+        List<ExecutableElement> methods = ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(type));
+
+        for (VariableElement field : collectFields(type)) {
+            if (field.getModifiers().contains(Modifier.STATIC)) continue;
+
+            AnnotationMirror column = getAnnotation(field, COLUMN_ANNOTATION);
+            if (getBooleanValue(column, "ignore")) continue;
+
+            String fieldName = field.getSimpleName().toString();
+            ColumnKind kind = ColumnKind.of(field.asType());
+            if (kind == null) {
+                warning(field, "Skipping the field \"" + fieldName + "\" because of unsupported type.");
+                continue;
+            }
+
+            String setter = findAccessor(methods, field, "set" + capitalize(fieldName), 1);
+            String getter = findAccessor(methods, field, (kind == ColumnKind.BOOLEAN ? "is" : "get") + capitalize(fieldName), 0);
+            if (getter == null) getter = findAccessor(methods, field, "get" + capitalize(fieldName), 0);
+            if (setter == null || getter == null) {
+                warning(field, "Skipping the field \"" + fieldName + "\" because of missing setter or getter method.");
+                continue;
+            }
+
+            String columnName = getStringValue(column, "value");
+            if (columnName.length() == 0) columnName = translateFieldName(fieldName);
+
+            boolean primaryKey = getBooleanValue(column, "primaryKey");
+            if (primaryKey && entity.getPrimaryKey() != null) {
+                error(field, "Only one primary key can be declared in an @Entity class.");
+                return null;
+            }
+
+            entity.addColumn(new EntityInfo.ColumnInfo(columnName, kind, setter, getter,
+                    primaryKey, getBooleanValue(column, "autoIncrement")));
+        }
+
+        if (entity.getColumns().isEmpty()) {
+            error(type, "The @Entity class without any mapped column.");
+            return null;
+        }
+        return entity;
+    }
+
+    /**
+     * Collecting all the fields of the class and its super classes, the fields of super classes come first.
+     */
+    private List<VariableElement> collectFields(TypeElement type) {
+        LinkedList<TypeElement> hierarchy = new LinkedList<TypeElement>();
+        for (TypeElement current = type; current != null; ) {
+            hierarchy.addFirst(current);
+            TypeMirror superclass = current.getSuperclass();
+            if (superclass.getKind() != TypeKind.DECLARED) break;
+            current = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (current.getQualifiedName().contentEquals("java.lang.Object")) break;
+        }
+
+        List<VariableElement> fields = new ArrayList<VariableElement>();
+        for (TypeElement current : hierarchy) {
+            fields.addAll(ElementFilter.fieldsIn(current.getEnclosedElements()));
+        }
+        return fields;
+    }
+
+    private boolean hasEmptyConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searching for a public method by name which accepting or returning the same type as the field.
+     */
+    private String findAccessor(List<ExecutableElement> methods, VariableElement field, String name, int paramCount) {
+        for (ExecutableElement method : methods) {
+            if (!method.getSimpleName().contentEquals(name)) continue;
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) continue;
+            if (method.getParameters().size() != paramCount) continue;
+
+            TypeMirror type = paramCount > 0 ? method.getParameters().get(0).asType() : method.getReturnType();
+            if (processingEnv.getTypeUtils().isSameType(type, field.asType())) return name;
+        }
+        return null;
+    }
+
+    /**
+     * Translating the field name to the column name, which separating each word with underline(_),
+     * this is the reverse of the default {@code DBOverseer.translateColumnName(String)}.
+     * <p/>
+     * A run of capitals is taken as a single word, e.g. "productID" to "product_id",
+     * "parseHTTPResponse" to "parse_http_response".
+     */
+    static String translateFieldName(String fieldName) {
+        StringBuilder columnName = new StringBuilder(fieldName.length() + 4);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char ch = fieldName.charAt(i);
+            if (Character.isUpperCase(ch)) {
+                // a word begins at the capital following a lower case letter or digit,
+                // or at the last capital of a run which followed by a lower case letter.
+                if (i > 0 && (!Character.isUpperCase(fieldName.charAt(i - 1))
+                        || i + 1 < fieldName.length() && Character.isLowerCase(fieldName.charAt(i + 1)))) {
+                    columnName.append('_');
+                }
+                columnName.append(Character.toLowerCase(ch));
+            } else {
+                columnName.append(ch);
+            }
+        }
+        return columnName.toString();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationName)) return mirror;
+        }
+        return null;
+    }
+
+    private static Object getValue(AnnotationMirror mirror, String name) {
+        if (mirror == null) return null;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) return entry.getValue().getValue();
+        }
+        return null;
+    }
+
+    private static String getStringValue(AnnotationMirror mirror, String name) {
+        Object value = getValue(mirror, name);
+        return value != null ? value.toString() : "";
+    }
+
+    private static boolean getBooleanValue(AnnotationMirror mirror, String name) {
+        return Boolean.TRUE.equals(getValue(mirror, name));
+    }
+
+    private void writeSource(String className, String source, Element originating) {
+        Writer writer = null;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(className, originating);
+            writer = file.openWriter();
+            writer.write(source);
+        } catch (IOException e) {
+            error(originating, "Unable to write " + className + " : " + e.getMessage());
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void warning(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    /**
+     * The supported column types, with the Cursor getter and SQLiteStatement binder for each.
+     */
+    enum ColumnKind {
+        STRING("getString", "bindString", true),
+        INT("getInt", "bindLong", false),
+        SHORT("getShort", "bindLong", false),
+        LONG("getLong", "bindLong", false),
+        FLOAT("getFloat", "bindDouble", false),
+        DOUBLE("getDouble", "bindDouble", false),
+        BOOLEAN("getInt", "bindLong", false),
+        BLOB("getBlob", "bindBlob", true);
+
+        final String cursorGetter;
+        final String statementBinder;
+        final boolean nullable;
+
+        ColumnKind(String cursorGetter, String statementBinder, boolean nullable) {
+            this.cursorGetter = cursorGetter;
+            this.statementBinder = statementBinder;
+            this.nullable = nullable;
+        }
+
+        static ColumnKind of(TypeMirror type) {
+            switch (type.getKind()) {
+                case INT:
+                    return INT;
+                case SHORT:
+                    return SHORT;
+                case LONG:
+                    return LONG;
+                case FLOAT:
+                    return FLOAT;
+                case DOUBLE:
+                    return DOUBLE;
+                case BOOLEAN:
+                    return BOOLEAN;
+                case ARRAY:
+                    return ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE ? BLOB : null;
+                case DECLARED:
+                    TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+                    return element.getQualifiedName().contentEquals("java.lang.String") ? STRING : null;
+                default:
+                    return null;
+            }
+        }
+    }
+}
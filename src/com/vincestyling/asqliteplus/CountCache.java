@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+/**
+ * A {@link QueryCache} of the row counts keyed by the counting SQL, which make the pagination able to skip
+ * the "SELECT count(*) FROM (...)" query while paging through an unchanged resultset.
+ *
+ * @see com.vincestyling.asqliteplus.DBOverseer#setCountCacheSize(int)
+ */
+public class CountCache extends QueryCache<Integer> {
+    /**
+     * @param maxSize the maximum number of counts to holding.
+     */
+    public CountCache(int maxSize) {
+        super(maxSize);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import android.database.Cursor;
+
+import java.io.Closeable;
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A read-only {@link java.util.List} backed by an opening {@link Cursor}, the rows are mapped on demand
+ * when {@link #get(int)} called, and only the recently accessed entities are kept in a small LRU cache.
+ * Thus the heap it occupied doesn't grow with the resultset, that's ideal for the adapter of a ListView
+ * which presenting a huge table. The creating still takes the time of stepping through every row once,
+ * since the platform SQLiteCursor counts the whole resultset when filling its first window.
+ * <p/>
+ * The Cursor would be kept open until {@link #close()} called, make sure to close it when the list
+ * is no longer used, e.g. in the Activity's onDestroy(). While the write-ahead logging is enabled,
+ * an opening list also holding one of the reader permits until it closed, see
+ * {@link com.vincestyling.asqliteplus.DBOverseer#enableWriteAheadLogging(int)}.
+ *
+ * @param <T> the mapped entity.
+ * @see com.vincestyling.asqliteplus.DBOverseer#getCursorList(Object, RowMapper)
+ */
+public class CursorList<T> extends AbstractList<T> implements RandomAccess, Closeable {
+    public static final int DEFAULT_CACHE_SIZE = 100;
+
+    private final Cursor mCursor;
+    private final RowMapper<T> mMapper;
+    private final int mSize;
+    private final LinkedHashMap<Integer, T> mEntities;
+
+    /**
+     * @param cursor    the opening Cursor, null for an empty list.
+     * @param size      the row count of the Cursor, which counted by the caller to handling the failure of it.
+     * @param mapper    the fetching principle for one row.
+     * @param cacheSize how many mapped entities to keep.
+     */
+    CursorList(Cursor cursor, int size, RowMapper<T> mapper, final int cacheSize) {
+        mCursor = cursor;
+        mMapper = mapper;
+        mSize = size;
+
+        // use the access-order to evicting the least recently used entity.
+        mEntities = new LinkedHashMap<Integer, T>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, T> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returning the entity at the specified position, mapping that row if it isn't cached.
+     *
+     * @throws IllegalStateException if this list was closed.
+     */
+    @Override
+    public synchronized T get(int location) {
+        if (location < 0 || location >= mSize) {
+            throw new IndexOutOfBoundsException("Invalid index " + location + ", size is " + mSize);
+        }
+
+        T entity = mEntities.get(location);
+        if (entity == null) {
+            if (mCursor.isClosed()) throw new IllegalStateException("The CursorList has been closed.");
+            mCursor.moveToPosition(location);
+            entity = mMapper.mapRow(mCursor);
+            mEntities.put(location, entity);
+        }
+        return entity;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    public synchronized boolean isClosed() {
+        return mCursor == null || mCursor.isClosed();
+    }
+
+    /**
+     * Closing the underlying Cursor and dropping the cached entities, it's safe to call multiple times.
+     */
+    @Override
+    public synchronized void close() {
+        if (mCursor != null && !mCursor.isClosed()) mCursor.close();
+        mEntities.clear();
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import android.database.sqlite.SQLiteStatement;
+
+/**
+ * This class used to producing a single SQL template with "?" placeholders, and binding each entity's values
+ * to the statement compiled from that template. Unlike {@link DBOperator} which producing an individual SQL
+ * for every entity, the template would be compiled only once then executed repeatedly in a batch operation.
+ *
+ * @param <T> the operating entity.
+ * @see com.vincestyling.asqliteplus.DBOverseer#executeBatch(java.util.List, DBBinder)
+ */
+public interface DBBinder<T> {
+    /**
+     * producing the SQL template, usually an INSERT||UPDATE||DELETE statement with "?" placeholders.
+     * Can be either a normal String which just the SQL or represented the SQL's
+     * {@link com.vincestyling.asqliteplus.statement.Statement} object.
+     *
+     * @return the produced SQL template.
+     */
+    Object produce();
+
+    /**
+     * binding the given entity's values to the compiled statement, the previous
+     * bindings have already been cleared before calling this method.
+     *
+     * @param statement the statement compiled from the SQL template.
+     * @param entity    the operating entity.
+     */
+    void bind(SQLiteStatement statement, T entity);
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+/**
+ * An interface used for receiving the result of an asynchronous operation of {@link DBOverseer}.
+ *
+ * @param <T> the result type of the operation.
+ * @see com.vincestyling.asqliteplus.DBOverseer#getListAsync(Object, Class, DBCallback)
+ */
+public interface DBCallback<T> {
+    /**
+     * Handling the result, called in the thread which submitted the operation if that thread has
+     * a {@link android.os.Looper}, e.g. the main thread, otherwise in the executing thread.
+     * <p/>
+     * Wouldn't be called if the operation was cancelled.
+     *
+     * @param result the result of the operation.
+     */
+    void onResult(T result);
+}
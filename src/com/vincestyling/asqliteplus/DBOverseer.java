@@ -16,18 +16,47 @@
 package com.vincestyling.asqliteplus;
 
 import android.database.Cursor;
+import android.database.CursorWrapper;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteCursorDriver;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteProgram;
+import android.database.sqlite.SQLiteQuery;
 import android.database.sqlite.SQLiteStatement;
+import android.os.Build;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
+import com.vincestyling.asqliteplus.statement.Function;
 import com.vincestyling.asqliteplus.statement.Parenthesize;
 import com.vincestyling.asqliteplus.statement.QueryStatement;
 import com.vincestyling.asqliteplus.statement.Statement;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class exposes numerous handy methods to performing SQL statements, to be enable them,
@@ -37,6 +66,9 @@ import java.util.List;
  * developer can constructing any Object such as {@link String}, {@link StringBuilder},
  * {@link Statement} to carrying the SQL statement, just make sure that the toString()
  * method would return the final SQL statement you want to be executing.
+ * <p/>
+ * If the given SQL is a {@link Statement} in binding mode, its arguments would be bound to the
+ * "?" placeholders by their own types rather than inlined, see {@link Statement#binding()}.
  */
 public class DBOverseer {
     protected static final String TAG = "DBOverseer";
@@ -50,6 +82,129 @@ public class DBOverseer {
         mDBHelper = dbHelper;
     }
 
+    /**
+     * The leased database connection, see {@link #acquireDatabase()}.
+     */
+    private SQLiteDatabase mDataBase;
+    private int mLeaseCount;
+    private boolean mShutdownPending;
+    private final Object mLeaseLock = new Object();
+
+    /**
+     * Whether the write-ahead logging was enabled by {@link #enableWriteAheadLogging(int)}.
+     */
+    private volatile boolean mWriteAheadLogging;
+
+    /**
+     * Bounding how many threads could be reading concurrently, null indicates unbounded.
+     */
+    private volatile Semaphore mReaderPermits;
+
+    /**
+     * The reader permit which holding by the current thread, see {@link #acquireReader()}.
+     */
+    private final ThreadLocal<ReaderLease> mReaderLeases = new ThreadLocal<ReaderLease>();
+
+    /**
+     * The resolved mapping plans keyed by the entity class and the column layout.
+     */
+    private final Map<String, RowMapper<?>> mEntityMappings = new ConcurrentHashMap<String, RowMapper<?>>();
+
+    /**
+     * The cache of compiled statements, null indicates disabled.
+     */
+    protected volatile StatementCache mStatementCache;
+
+    /**
+     * The cache of row counts, null indicates disabled.
+     */
+    protected volatile CountCache mCountCache;
+
+    /**
+     * The policy of retrying the operations which failed by the busy database, null indicates never retry.
+     */
+    protected volatile RetryPolicy mRetryPolicy;
+
+    /**
+     * The cache of query results, null indicates disabled.
+     */
+    protected volatile QueryCache<Object> mResultCache;
+
+    /**
+     * The layer of sharing the concurrent identical queries, null indicates disabled.
+     */
+    protected volatile SingleFlight mSingleFlight;
+
+    /**
+     * The observed queries which re-running when their tables changed.
+     */
+    private final List<QueryObserver<?>> mObservers = new CopyOnWriteArrayList<QueryObserver<?>>();
+
+    /**
+     * The identity maps which cleared when their tables changed, weakly referenced to not holding the abandoned ones.
+     */
+    private final Set<IdentityMap> mIdentityMaps =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<IdentityMap, Boolean>()));
+
+    /**
+     * The cache of prefetched pages, null indicates the prefetching is disabled.
+     */
+    protected volatile QueryCache<Future<PaginationList<?>>> mPageCache;
+
+    /**
+     * The background executor which loading the prefetching pages.
+     */
+    private ExecutorService mPrefetchExecutor;
+
+    /**
+     * The executors which performing the asynchronous operations, created at the first use.
+     */
+    private ExecutorService mReadExecutor;
+    private ScheduledExecutorService mWriteExecutor;
+
+    public static final int DEFAULT_READ_POOL_SIZE = 4;
+    private int mReadPoolSize = DEFAULT_READ_POOL_SIZE;
+
+    /**
+     * The writes waiting for the group commit, see {@link #setGroupCommit(long, int)}.
+     */
+    private List<PendingWrite> mPendingWrites = new ArrayList<PendingWrite>();
+    private final Object mGroupCommitLock = new Object();
+
+    /**
+     * How long the group commit gathering the writes, zero indicates disabled.
+     */
+    private volatile long mGroupCommitWindow;
+    private volatile int mGroupCommitMaxWrites;
+
+    private int mGroupCommitCount;
+    private int mGroupedWriteCount;
+
+    /**
+     * The transaction scope which opened by {@link #inTransaction} in the current thread.
+     */
+    private final ThreadLocal<TransactionScope> mTransactionScopes = new ThreadLocal<TransactionScope>();
+
+    /**
+     * The cancellation signal of the asynchronous operation which running in the current thread.
+     */
+    private final ThreadLocal<CancellationSignal> mCancellationSignals = new ThreadLocal<CancellationSignal>();
+
+    /**
+     * How the pagination determining the total item count.
+     */
+    protected volatile PaginationStrategy mPaginationStrategy = PaginationStrategy.AUTO;
+
+    /**
+     * Whether the SQLite supports the window functions, null indicates not detected yet.
+     */
+    private volatile Boolean mWindowFunctionSupported;
+
+    /**
+     * The name of the window column which carrying the total item count of the pagination.
+     */
+    protected static final String TOTAL_COUNT_COLUMN = "asqliteplus_total_count";
+
     /**
      * Having a single SQLiteOpenHelper instance is benefit in threading cases throughout the Application's entire life
      * cycle, Read more details in <a href="http://stackoverflow.com/a/8888606/1294681">StackOverflow Question</a>.
@@ -104,11 +259,24 @@ public class DBOverseer {
      * @param sql the multiple-columns SQL in querying form.
      * @return the INTEGER values.
      */
-    public int[] getInts(Object sql) {
-        Cursor cursor = null;
+    public int[] getInts(final Object sql) {
+        try {
+            if (mSingleFlight == null) return queryInts(sql);
+            return share("ints|" + QueryCache.buildKey(sql), sql, new Callable<int[]>() {
+                @Override
+                public int[] call() {
+                    return queryInts(sql);
+                }
+            });
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private int[] queryInts(Object sql) {
+        Cursor cursor = rawQuery(sql);
         try {
-            debugSql(sql);
-            cursor = mDBHelper.getReadableDatabase().rawQuery(sql.toString(), null);
             if (cursor.moveToFirst()) {
                 int columnCount = cursor.getColumnCount();
                 int[] result = new int[columnCount];
@@ -117,10 +285,8 @@ public class DBOverseer {
                 }
                 return result;
             }
-        } catch (Exception e) {
-            Log.e(TAG, e.getMessage(), e);
         } finally {
-            if (cursor != null) cursor.close();
+            cursor.close();
         }
         return null;
     }
@@ -161,11 +327,24 @@ public class DBOverseer {
      * @param sql the multiple-columns SQL in querying form.
      * @return the STRING values.
      */
-    public String[] getStrings(Object sql) {
-        Cursor cursor = null;
+    public String[] getStrings(final Object sql) {
+        try {
+            if (mSingleFlight == null) return queryStrings(sql);
+            return share("strings|" + QueryCache.buildKey(sql), sql, new Callable<String[]>() {
+                @Override
+                public String[] call() {
+                    return queryStrings(sql);
+                }
+            });
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private String[] queryStrings(Object sql) {
+        Cursor cursor = rawQuery(sql);
         try {
-            debugSql(sql);
-            cursor = mDBHelper.getReadableDatabase().rawQuery(sql.toString(), null);
             if (cursor.moveToFirst()) {
                 int columnCount = cursor.getColumnCount();
                 String[] result = new String[columnCount];
@@ -174,14 +353,117 @@ public class DBOverseer {
                 }
                 return result;
             }
+        } finally {
+            cursor.close();
+        }
+        return null;
+    }
+
+    /**
+     * Performs the query and retrieve the INTEGER value in the first column of every row, the values
+     * are filling into a primitive array which sized by the row count, so no boxing would happen.
+     *
+     * @param sql the single-column SQL in querying form.
+     * @return the INTEGER values, an empty array if no result presented, or null if error occurred.
+     */
+    public int[] getIntColumn(final Object sql) {
+        try {
+            if (mSingleFlight == null) return queryIntColumn(sql);
+            return share("intColumn|" + QueryCache.buildKey(sql), sql, new Callable<int[]>() {
+                @Override
+                public int[] call() {
+                    return queryIntColumn(sql);
+                }
+            });
         } catch (Exception e) {
             Log.e(TAG, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private int[] queryIntColumn(Object sql) {
+        Cursor cursor = rawQuery(sql);
+        try {
+            int[] result = new int[cursor.getCount()];
+            for (int i = 0; cursor.moveToNext(); i++) {
+                result[i] = cursor.getInt(0);
+            }
+            return result;
         } finally {
-            if (cursor != null) cursor.close();
+            cursor.close();
+        }
+    }
+
+    /**
+     * Performs the query and retrieve the INTEGER value in the first column of every row, the values
+     * are filling into a primitive array which sized by the row count, so no boxing would happen.
+     *
+     * @param sql the single-column SQL in querying form.
+     * @return the INTEGER values, an empty array if no result presented, or null if error occurred.
+     */
+    public long[] getLongColumn(final Object sql) {
+        try {
+            if (mSingleFlight == null) return queryLongColumn(sql);
+            return share("longColumn|" + QueryCache.buildKey(sql), sql, new Callable<long[]>() {
+                @Override
+                public long[] call() {
+                    return queryLongColumn(sql);
+                }
+            });
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private long[] queryLongColumn(Object sql) {
+        Cursor cursor = rawQuery(sql);
+        try {
+            long[] result = new long[cursor.getCount()];
+            for (int i = 0; cursor.moveToNext(); i++) {
+                result[i] = cursor.getLong(0);
+            }
+            return result;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Performs the query and retrieve the REAL value in the first column of every row, the values
+     * are filling into a primitive array which sized by the row count, so no boxing would happen.
+     *
+     * @param sql the single-column SQL in querying form.
+     * @return the REAL values, an empty array if no result presented, or null if error occurred.
+     */
+    public double[] getDoubleColumn(final Object sql) {
+        try {
+            if (mSingleFlight == null) return queryDoubleColumn(sql);
+            return share("doubleColumn|" + QueryCache.buildKey(sql), sql, new Callable<double[]>() {
+                @Override
+                public double[] call() {
+                    return queryDoubleColumn(sql);
+                }
+            });
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
         }
         return null;
     }
 
+    private double[] queryDoubleColumn(Object sql) {
+        Cursor cursor = rawQuery(sql);
+        try {
+            double[] result = new double[cursor.getCount()];
+            for (int i = 0; cursor.moveToNext(); i++) {
+                result[i] = cursor.getDouble(0);
+            }
+            return result;
+        } finally {
+            cursor.close();
+        }
+    }
+
     /**
      * Performs the query and checking if has result.
      *
@@ -191,8 +473,7 @@ public class DBOverseer {
     public boolean checkIfExists(Object sql) {
         Cursor cursor = null;
         try {
-            debugSql(sql);
-            cursor = mDBHelper.getReadableDatabase().rawQuery(sql.toString(), null);
+            cursor = rawQuery(sql);
             return cursor.moveToFirst();
         } catch (Exception e) {
             Log.e(TAG, e.getMessage(), e);
@@ -221,16 +502,26 @@ public class DBOverseer {
     public long executeInsert(Object sql) {
         SQLiteDatabase dataBase = null;
         SQLiteStatement statement = null;
+        String sqlText = sql.toString();
         try {
-            dataBase = mDBHelper.getWritableDatabase();
-            statement = dataBase.compileStatement(sql.toString());
+            dataBase = acquireDatabase();
+            statement = compileStatement(dataBase, sqlText);
+            bindArgs(statement, sql);
             debugSql(sql);
-            return statement.executeInsert();
+            final SQLiteStatement insertion = statement;
+            long rowId = retryOnBusy(new BusyOperation<Long>() {
+                @Override
+                public Long perform() {
+                    return insertion.executeInsert();
+                }
+            });
+            notifyTablesChanged(getTables(sql));
+            return rowId;
         } catch (Exception e) {
             Log.e(TAG, e.getMessage(), e);
         } finally {
-            if (statement != null) statement.close();
-            if (dataBase != null) dataBase.close();
+            if (statement != null) releaseStatement(dataBase, sqlText, statement);
+            if (dataBase != null) releaseDatabase();
         }
         return -1;
     }
@@ -253,16 +544,26 @@ public class DBOverseer {
     public int executeSql(Object sql) {
         SQLiteDatabase dataBase = null;
         SQLiteStatement statement = null;
+        String sqlText = sql.toString();
         try {
-            dataBase = mDBHelper.getWritableDatabase();
-            statement = dataBase.compileStatement(sql.toString());
+            dataBase = acquireDatabase();
+            statement = compileStatement(dataBase, sqlText);
+            bindArgs(statement, sql);
             debugSql(sql);
-            return statement.executeUpdateDelete();
+            final SQLiteStatement updating = statement;
+            int affectedRows = retryOnBusy(new BusyOperation<Integer>() {
+                @Override
+                public Integer perform() {
+                    return updating.executeUpdateDelete();
+                }
+            });
+            notifyTablesChanged(getTables(sql));
+            return affectedRows;
         } catch (Exception e) {
             Log.e(TAG, e.getMessage(), e);
         } finally {
-            if (statement != null) statement.close();
-            if (dataBase != null) dataBase.close();
+            if (statement != null) releaseStatement(dataBase, sqlText, statement);
+            if (dataBase != null) releaseDatabase();
         }
         return 0;
     }
@@ -277,10 +578,25 @@ public class DBOverseer {
      * @param <T>    the generic entity which represent one row.
      */
     public <T> void getList(Object sql, ArrayList<T> list, RowMapper<T> mapper) {
-        Cursor cursor = null;
+        fillList(sql, list, mapper);
+    }
+
+    /**
+     * @return true if without any errors.
+     */
+    private <T> boolean fillList(Object sql, ArrayList<T> list, RowMapper<T> mapper) {
+        try {
+            queryList(sql, list, mapper);
+            return true;
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        }
+        return false;
+    }
+
+    private <T> void queryList(Object sql, ArrayList<T> list, RowMapper<T> mapper) {
+        Cursor cursor = rawQuery(sql);
         try {
-            debugSql(sql);
-            cursor = mDBHelper.getReadableDatabase().rawQuery(sql.toString(), null);
             if (cursor.moveToFirst()) {
                 // stretching the ArrayList for a good performance during filling.
                 list.ensureCapacity(cursor.getCount());
@@ -289,10 +605,8 @@ public class DBOverseer {
                     list.add(mapper.mapRow(cursor));
                 } while (cursor.moveToNext());
             }
-        } catch (Exception e) {
-            Log.e(TAG, e.getMessage(), e);
         } finally {
-            if (cursor != null) cursor.close();
+            cursor.close();
         }
     }
 
@@ -323,212 +637,2209 @@ public class DBOverseer {
      * @param <T>   the generic entity which represent one row.
      * @return the resultset list.
      * @see #getEntity(android.database.Cursor, Class)
+     * @see #setResultCacheSize(int)
+     * @see #setSingleFlight(boolean)
      */
-    public <T> List<T> getList(Object sql, final Class<T> clazz) {
-        return getList(sql, new RowMapper<T>() {
-            public T mapRow(Cursor cursor) {
-                return getEntity(cursor, clazz);
-            }
-        });
-    }
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getList(final Object sql, final Class<T> clazz) {
+        final QueryCache<Object> cache = mResultCache;
+        if (cache == null && mSingleFlight == null) return getList(sql, getEntityMapper(clazz));
 
-    /**
-     * Performs the query with two pagination arguments, computing and returning
-     * the desired PaginationList which contained four pagination informations.
-     * <p/>
-     * First perform a query like "SELECT count(*) FROM (the original SQL statement lie here)" to
-     * determine how many rows of data are available. This allows the number of pages to be calculated.
-     * <p/>
-     * Second, plus the pagination clauses to the original SQL statement, which would make it change
-     * like "[original SQL] LIMIT 10 OFFSET 20", finally perform that changed SQL to take the resultset.
-     *
-     * @param sql           the SELECT SQL statement.
-     * @param pageNo        the current page number.
-     * @param pageItemCount how many item a page have.
-     * @param clazz         the row's entity class.
-     * @param <T>           the generic entity which represent one row.
-     * @return the resultset list.
-     */
-    public <T> PaginationList<T> getPaginationList(Statement sql, int pageNo, int pageItemCount, final Class<T> clazz) {
-        // determine how many row are available.
-        int totalItemCount = getInt(QueryStatement.rowCount().from(new Parenthesize(sql)));
-        if (totalItemCount > 0) {
-            // fetch a single page of results.
-            PaginationList<T> records = new PaginationList<T>();
-            getList(sql.copy().limit(pageItemCount, (pageNo - 1) * pageItemCount), records, new RowMapper<T>() {
-                public T mapRow(Cursor cursor) {
-                    return getEntity(cursor, clazz);
+        final String key = "list|" + clazz.getName() + "|" + QueryCache.buildKey(sql);
+        if (cache != null) {
+            List<T> cached = (List<T>) cache.get(key);
+            if (cached != null) return new ArrayList<T>(cached);
+        }
+
+        try {
+            return share(key, sql, new Callable<List<T>>() {
+                @Override
+                public List<T> call() {
+                    long generation = cache != null ? cache.getGeneration() : 0;
+                    SizingRowMapper<T> mapper = new SizingRowMapper<T>(getEntityMapper(clazz));
+                    ArrayList<T> list = new ArrayList<T>();
+                    queryList(sql, list, mapper);
+                    if (cache != null) cache.put(key, getTables(sql), new ArrayList<T>(list), generation, mapper.size);
+                    return list;
                 }
             });
-
-            return records.setPagination(pageNo, pageItemCount, totalItemCount);
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
         }
-        return new PaginationList<T>(pageNo, pageItemCount, totalItemCount);
+        return new ArrayList<T>();
     }
 
     /**
-     * Looping the given List, put every item of that into the {@link DBOperator} to producing an individual SQL statement to performing.
-     * <p/>
-     * Normally used to batch both SQL inserts, updates, and deletes, it does not make sense to batch select statements.
+     * Performs the query and handing over the resultset to the {@link RowCallback} one row at a time,
+     * the rows would never be collected, so it suit for exporting or aggregating a large table.
      * <p/>
-     * <strong>Note:</strong> All the batch update would be inside a transaction, which make us possible to avoiding
-     * data inconsistent by declare "INSERT||UPDATE OR ROLLBACK ..." form's statement whenever necessary.
+     * Unlike {@link #getList(Object, RowMapper)}, the heap is bounded to a single mapped row, and the callback
+     * can terminating the iteration at any row. Note that it only saves the mapping and the holding of rows,
+     * not the stepping, the platform SQLiteCursor still counting the whole resultset when it filling the first
+     * window on the first move, so the query costs the time of stepping through every row once at least.
      *
-     * @param list     the batch datasource.
-     * @param operator the SQL producer by each item of the datasource.
-     * @param <T>      the datasource generic type.
-     * @return true if without any errors.
+     * @param sql      the SELECT SQL statement.
+     * @param mapper   the fetching principle for one row.
+     * @param callback the handler for each mapped row.
+     * @param <T>      the generic entity which represent one row.
+     * @return how many rows have been handed over.
      */
-    public <T> boolean executeBatch(List<T> list, DBOperator<T> operator) {
-        if (list == null || list.size() == 0) return false;
-        SQLiteDatabase dataBase = null;
+    public <T> int forEach(Object sql, RowMapper<T> mapper, RowCallback<T> callback) {
+        int rowCount = 0;
+        Cursor cursor = null;
         try {
-            dataBase = mDBHelper.getWritableDatabase();
-            // TODO : It appeared SQLite would begin a transaction for UPDATE statement automatically,
-            // TODO : see {@link android.database.sqlite.SQLiteStatement#acquireAndLock()}.
-            dataBase.beginTransaction();
-            for (T entity : list) {
-                Object sql = operator.produce(entity);
-                debugSql(sql);
-                dataBase.execSQL(sql.toString());
+            cursor = rawQuery(sql, false);
+            while (cursor.moveToNext()) {
+                rowCount++;
+                if (!callback.onRow(mapper.mapRow(cursor))) break;
             }
-            dataBase.setTransactionSuccessful();
-            return true;
         } catch (Exception e) {
             Log.e(TAG, e.getMessage(), e);
         } finally {
-            if (dataBase != null) {
-                dataBase.endTransaction();
-                dataBase.close();
-            }
+            if (cursor != null) cursor.close();
         }
-        return false;
+        return rowCount;
     }
 
     /**
-     * @see #executeBatch(java.util.List, DBOperator)
+     * Performs the query and handing over the resultset to the {@link RowCallback} one row at a time,
+     * each row was mapped to an instance of the specified Class.
+     *
+     * @see #forEach(Object, RowMapper, RowCallback)
+     * @see #getEntity(android.database.Cursor, Class)
      */
-    public <T> boolean executeBatch(T[] array, DBOperator<T> operator) {
-        return executeBatch(Arrays.asList(array), operator);
+    public <T> int forEach(Object sql, final Class<T> clazz, RowCallback<T> callback) {
+        return forEach(sql, getEntityMapper(clazz), callback);
     }
 
     /**
-     * Performs the query and return the first row as an entity via {@link RowMapper}.
+     * Performs the query and returning an iterator which mapping the resultset lazily.
+     * <p/>
+     * The returning iterator holding the Cursor opened until it was exhausted or closed,
+     * make sure to {@link RowIterator#close()} it in a finally block. An opening iterator
+     * counts against the maxReaders of {@link #enableWriteAheadLogging(int)}.
      *
      * @param sql    the SELECT SQL statement.
      * @param mapper the fetching principle for one row.
      * @param <T>    the generic entity which represent one row.
-     * @return the row's entity.
+     * @return the iterator, which would be empty if error occurred.
      */
-    public <T> T getEntity(Object sql, RowMapper<T> mapper) {
+    public <T> RowIterator<T> iterate(Object sql, RowMapper<T> mapper) {
         Cursor cursor = null;
         try {
-            debugSql(sql);
-            cursor = mDBHelper.getReadableDatabase().rawQuery(sql.toString(), null);
-            if (cursor.moveToFirst()) return mapper.mapRow(cursor);
+            cursor = rawQuery(sql, false);
         } catch (Exception e) {
             Log.e(TAG, e.getMessage(), e);
-        } finally {
-            if (cursor != null) cursor.close();
         }
-        return null;
+        return new RowIterator<T>(cursor, mapper);
     }
 
     /**
-     * Performs the query and return the first row as an entity which instancing of the specified Class.
+     * Performs the query and returning an iterator which mapping the resultset
+     * lazily, each row was mapped to an instance of the specified Class.
      *
-     * @param sql   the SELECT SQL statement.
-     * @param clazz the entity class.
-     * @param <T>   the generic entity which represent one row.
-     * @return the instantiated row entity.
-     * @see #getEntity(android.database.Cursor, Class)
+     * @see #iterate(Object, RowMapper)
      */
-    public <T> T getEntity(Object sql, final Class<T> clazz) {
-        return getEntity(sql, new RowMapper<T>() {
-            public T mapRow(Cursor cursor) {
-                return getEntity(cursor, clazz);
-            }
-        });
+    public <T> RowIterator<T> iterate(Object sql, final Class<T> clazz) {
+        return iterate(sql, getEntityMapper(clazz));
     }
 
-    public static final String METHOD_PREFIX = "set";
-
     /**
-     * Fetching current row from the {@link Cursor}, instancing the specified Class and mapping
-     * each presented column's value associated with its name to the entity instance.
+     * Performs the query and returning a {@link CursorList} which mapping the rows on demand,
+     * that occupying the same heap no matter how large the resultset is, though the platform
+     * SQLiteCursor still stepping through the whole resultset once to counting its size.
+     * <p/>
+     * The returning list holding the Cursor opened, make sure to {@link CursorList#close()} it after used.
+     * An opening list counts against the maxReaders of {@link #enableWriteAheadLogging(int)}.
+     *
+     * @param sql       the SELECT SQL statement.
+     * @param mapper    the fetching principle for one row.
+     * @param cacheSize how many mapped entities to keep.
+     * @param <T>       the generic entity which represent one row.
+     * @return the lazy list, which would be empty if error occurred.
+     * @throws IllegalArgumentException if cacheSize is not positive.
+     */
+    public <T> CursorList<T> getCursorList(Object sql, RowMapper<T> mapper, int cacheSize) {
+        if (cacheSize <= 0) throw new IllegalArgumentException("cacheSize <= 0");
+
+        Cursor cursor = null;
+        int size = 0;
+        try {
+            cursor = rawQuery(sql, false);
+            // filling the first window here, the Cursor would be closed to returning the lease if failed.
+            size = cursor.getCount();
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+            if (cursor != null) {
+                cursor.close();
+                cursor = null;
+            }
+        }
+        return new CursorList<T>(cursor, size, mapper, cacheSize);
+    }
+
+    /**
+     * @see #getCursorList(Object, RowMapper, int)
+     */
+    public <T> CursorList<T> getCursorList(Object sql, RowMapper<T> mapper) {
+        return getCursorList(sql, mapper, CursorList.DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Performs the query and returning a {@link CursorList} which mapping
+     * the rows on demand to instances of the specified Class.
+     *
+     * @see #getCursorList(Object, RowMapper, int)
+     */
+    public <T> CursorList<T> getCursorList(Object sql, final Class<T> clazz) {
+        return getCursorList(sql, getEntityMapper(clazz), CursorList.DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Performs the query with two pagination arguments, computing and returning
+     * the desired PaginationList which contained four pagination informations.
+     * <p/>
+     * First perform a query like "SELECT count(*) FROM (the original SQL statement lie here)" to
+     * determine how many rows of data are available. This allows the number of pages to be calculated.
+     * The counting statement is derived from the original one, see {@link Statement#toCountStatement()}.
+     * <p/>
+     * Alternatively, both can be done in a single query which carrying a "count(*) OVER ()" window column,
+     * see {@link PaginationStrategy}, that's chosen automatically if the SQLite supports window functions.
+     * <p/>
+     * Second, plus the pagination clauses to the original SQL statement, which would make it change
+     * like "[original SQL] LIMIT 10 OFFSET 20", finally perform that changed SQL to take the resultset.
+     *
+     * @param sql           the SELECT SQL statement.
+     * @param pageNo        the current page number.
+     * @param pageItemCount how many item a page have.
+     * @param clazz         the row's entity class.
+     * @param <T>           the generic entity which represent one row.
+     * @return the resultset list.
+     */
+    public <T> PaginationList<T> getPaginationList(Statement sql, int pageNo, int pageItemCount, final Class<T> clazz) {
+        QueryCache<Future<PaginationList<?>>> pageCache = mPageCache;
+        if (pageCache == null) return queryPaginationList(sql, pageNo, pageItemCount, clazz);
+
+        PaginationList<T> records = takePrefetchedPage(pageCache, sql, pageNo, pageItemCount, clazz);
+        if (records == null) records = queryPaginationList(sql, pageNo, pageItemCount, clazz);
+        if (records.hasNextPage()) prefetchPage(pageCache, sql, pageNo + 1, pageItemCount, clazz);
+        return records;
+    }
+
+    /**
+     * Performs the pagination query as {@link #getPaginationList(Statement, int, int, Class)} described,
+     * without touching the prefetched pages.
+     */
+    protected <T> PaginationList<T> queryPaginationList(Statement sql, int pageNo, int pageItemCount, Class<T> clazz) {
+        PaginationStrategy strategy = mPaginationStrategy;
+        if (strategy == PaginationStrategy.WINDOW_FUNCTION
+                || strategy == PaginationStrategy.AUTO && isWindowFunctionSupported()) {
+            Statement windowSql = sql.withTotalCountColumn(TOTAL_COUNT_COLUMN);
+            if (windowSql != null) {
+                PaginationList<T> records = getPaginationListByWindow(windowSql, pageNo, pageItemCount, clazz);
+                if (records != null) return records;
+            }
+        }
+
+        // determine how many row are available.
+        int totalItemCount = getRowCount(sql);
+        if (totalItemCount > 0) {
+            // fetch a single page of results.
+            PaginationList<T> records = new PaginationList<T>();
+            getList(sql.copy().limit(pageItemCount, (pageNo - 1) * pageItemCount), records, getEntityMapper(clazz));
+
+            return records.setPagination(pageNo, pageItemCount, totalItemCount);
+        }
+        return new PaginationList<T>(pageNo, pageItemCount, totalItemCount);
+    }
+
+    private static String buildPageKey(Statement sql, int pageNo, int pageItemCount, Class<?> clazz) {
+        return QueryCache.buildKey(sql) + "|" + clazz.getName() + "|" + pageNo + "|" + pageItemCount;
+    }
+
+    /**
+     * Taking out the page which prefetched by {@link #prefetchPage}, waiting for it if still loading.
+     *
+     * @return the prefetched page, or null if it isn't prefetched or the prefetching was failed.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> PaginationList<T> takePrefetchedPage(QueryCache<Future<PaginationList<?>>> pageCache,
+                                                     Statement sql, int pageNo, int pageItemCount, Class<T> clazz) {
+        Future<PaginationList<?>> future = pageCache.take(buildPageKey(sql, pageNo, pageItemCount, clazz));
+        if (future == null) return null;
+
+        try {
+            return (PaginationList<T>) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.e(TAG, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Loading the page on the background executor then putting it into the page cache. The entry is put before
+     * the loading started, so a write committed after that would always drop it rather than leaving a stale page.
+     */
+    private <T> void prefetchPage(QueryCache<Future<PaginationList<?>>> pageCache,
+                                  Statement sql, final int pageNo, final int pageItemCount, final Class<T> clazz) {
+        String key = buildPageKey(sql, pageNo, pageItemCount, clazz);
+        ExecutorService executor;
+        FutureTask<PaginationList<?>> task;
+        synchronized (this) {
+            executor = mPrefetchExecutor;
+            if (executor == null || pageCache.contains(key)) return;
+
+            // snapshot the statement because the caller might keep changing it.
+            final Statement snapshot = sql.copy();
+            task = new FutureTask<PaginationList<?>>(new Callable<PaginationList<?>>() {
+                @Override
+                public PaginationList<?> call() throws Exception {
+                    return queryPaginationList(snapshot, pageNo, pageItemCount, clazz);
+                }
+            });
+            if (!pageCache.put(key, getTables(sql), task, pageCache.getGeneration())) return;
+        }
+        executor.execute(task);
+    }
+
+    /**
+     * Enable prefetching the next page on a background thread after served a page by
+     * {@link #getPaginationList(Statement, int, int, Class)} if it {@link PaginationList#hasNextPage()},
+     * the next calling for that page would take the prefetched one instead of querying, or waiting for it
+     * if still loading. The prefetched pages would be dropped once the tables they depended on were
+     * written through this DBOverseer.
+     * <p/>
+     * <strong>Note:</strong> The writes performing directly on the {@link SQLiteDatabase} can't be tracked,
+     * don't enable this if there are any.
+     *
+     * @param maxPages the maximum number of pages to holding, zero to disable.
+     */
+    public synchronized void setPagePrefetch(int maxPages) {
+        if (mPrefetchExecutor != null) {
+            mPrefetchExecutor.shutdownNow();
+            mPrefetchExecutor = null;
+        }
+        mPageCache = null;
+        if (maxPages <= 0) return;
+
+        mPrefetchExecutor = Executors.newSingleThreadExecutor(newThreadFactory("prefetch", Thread.MIN_PRIORITY));
+        mPageCache = new QueryCache<Future<PaginationList<?>>>(maxPages);
+    }
+
+    /**
+     * Return the cache of prefetched pages to checking its hit/miss/invalidation counters.
+     *
+     * @return the cache, or null if the prefetching is disabled.
+     */
+    public QueryCache<Future<PaginationList<?>>> getPageCache() {
+        return mPageCache;
+    }
+
+    /**
+     * Fetching a single page by the statement which carrying the "count(*) OVER ()" window column,
+     * and taking the total item count from the first row.
+     *
+     * @return the resultset list, or null if the page is empty that the total item count is unknown, or error occurred.
+     */
+    private <T> PaginationList<T> getPaginationListByWindow(Statement windowSql, int pageNo,
+                                                            int pageItemCount, Class<T> clazz) {
+        PaginationList<T> records = new PaginationList<T>(pageItemCount);
+        RowMapper<T> mapper = getEntityMapper(clazz);
+        int totalItemCount = 0;
+
+        Cursor cursor = null;
+        try {
+            cursor = rawQuery(windowSql.limit(pageItemCount, (pageNo - 1) * pageItemCount));
+            if (!cursor.moveToFirst()) return null;
+
+            totalItemCount = cursor.getInt(cursor.getColumnIndexOrThrow(TOTAL_COUNT_COLUMN));
+            do {
+                records.add(mapper.mapRow(cursor));
+            } while (cursor.moveToNext());
+        } catch (Exception e) {
+            // fallback to the counting query.
+            Log.e(TAG, e.getMessage(), e);
+            return null;
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return records.setPagination(pageNo, pageItemCount, totalItemCount);
+    }
+
+    /**
+     * Determine whether the SQLite supports the window functions by its version, which introduced in 3.25.0.
+     * The version would be detected by {@link com.vincestyling.asqliteplus.statement.Function#sqliteVersion()}
+     * at the first call.
+     *
+     * @return true if the window functions are supported.
+     */
+    public boolean isWindowFunctionSupported() {
+        Boolean supported = mWindowFunctionSupported;
+        if (supported == null) {
+            String version = getString(QueryStatement.produce(Function.sqliteVersion()));
+            supported = version != null && compareVersion(version, "3.25.0") >= 0;
+            mWindowFunctionSupported = supported;
+        }
+        return supported;
+    }
+
+    /**
+     * Comparing two dot separated version numbers, e.g. "3.8.10.2" against "3.25.0".
+     *
+     * @return a negative integer, zero, or a positive integer as the first version
+     * is less than, equal to, or greater than the second version.
+     */
+    static int compareVersion(String version1, String version2) {
+        String[] parts1 = version1.trim().split("\\.");
+        String[] parts2 = version2.trim().split("\\.");
+        for (int i = 0; i < Math.max(parts1.length, parts2.length); i++) {
+            int part1 = i < parts1.length ? Integer.parseInt(parts1[i]) : 0;
+            int part2 = i < parts2.length ? Integer.parseInt(parts2[i]) : 0;
+            if (part1 != part2) return part1 - part2;
+        }
+        return 0;
+    }
+
+    /**
+     * Specifying how {@link #getPaginationList(Statement, int, int, Class)} determining the
+     * total item count, the default is {@link PaginationStrategy#AUTO}.
+     *
+     * @param strategy the pagination strategy.
+     */
+    public void setPaginationStrategy(PaginationStrategy strategy) {
+        mPaginationStrategy = strategy;
+    }
+
+    /**
+     * Performs the pagination as {@link #getPaginationList(Statement, int, int, Class)}, but counting at most
+     * maxItemCount rows, which is enough to showing the "1000+ results" kind of total when an exact one isn't
+     * needed. The total item count of the returning list would be maxItemCount if more rows are available.
+     *
+     * @param sql           the SELECT SQL statement.
+     * @param pageNo        the current page number.
+     * @param pageItemCount how many item a page have.
+     * @param maxItemCount  the maximum number of rows to counting.
+     * @param clazz         the row's entity class.
+     * @param <T>           the generic entity which represent one row.
+     * @return the resultset list.
+     */
+    public <T> PaginationList<T> getPaginationList(Statement sql, int pageNo,
+                                                   int pageItemCount, int maxItemCount, final Class<T> clazz) {
+        int totalItemCount = getRowCount(sql, maxItemCount);
+        PaginationList<T> records = new PaginationList<T>();
+        if (totalItemCount > 0 && (pageNo - 1) * pageItemCount < totalItemCount) {
+            getList(sql.copy().limit(pageItemCount, (pageNo - 1) * pageItemCount), records, getEntityMapper(clazz));
+        }
+        return records.setPagination(pageNo, pageItemCount, totalItemCount);
+    }
+
+    /**
+     * Counting the rows which the query would return, by the statement which derived from the SQL without
+     * the ORDER BY clause and the unnecessary columns, see {@link Statement#toCountStatement()}.
+     * <p/>
+     * The count would be cached if the count cache was enabled by {@link #setCountCacheSize(int)},
+     * until any of the tables the query referenced was written through this DBOverseer.
+     *
+     * @param sql the SELECT SQL statement.
+     * @return the number of rows, or 0 if error occurred.
+     */
+    public int getRowCount(Statement sql) {
+        return getCachedCount(sql.toCountStatement(), sql);
+    }
+
+    /**
+     * Counting the rows which the query would return, but stop counting when reaching the given maximum,
+     * e.g. "SELECT count(*) FROM (SELECT 1 FROM tbl LIMIT 1000)", that could be much cheaper than the
+     * exact count over a large resultset. Cached as well as {@link #getRowCount(Statement)}.
+     *
+     * @param sql      the SELECT SQL statement.
+     * @param maxCount the maximum number of rows to counting.
+     * @return the number of rows, no more than the maximum, or 0 if error occurred.
+     */
+    public int getRowCount(Statement sql, int maxCount) {
+        return getCachedCount(sql.toCountStatement(maxCount), sql);
+    }
+
+    /**
+     * Performs the counting SQL through the count cache.
+     *
+     * @param countSql the counting SQL.
+     * @param sql      the original SQL which determining the depended tables.
+     * @return the count, or 0 if error occurred.
+     */
+    protected int getCachedCount(Statement countSql, Statement sql) {
+        CountCache cache = mCountCache;
+        if (cache == null) return getInt(countSql);
+
+        String key = CountCache.buildKey(countSql);
+        Integer count = cache.get(key);
+        if (count != null) return count;
+
+        long generation = cache.getGeneration();
+        int[] result = getInts(countSql);
+        if (result == null) return 0;
+
+        cache.put(key, getTables(sql), result[0], generation);
+        return result[0];
+    }
+
+    /**
+     * Estimating the number of rows of the table by the statistics in "sqlite_stat1" which
+     * generated by the ANALYZE command, that's fast but could be stale since last ANALYZE.
+     * Fallback to the exact count if the statistics are unavailable.
+     *
+     * @param table the name of the table.
+     * @return the estimated number of rows.
+     */
+    public int getApproximateRowCount(CharSequence table) {
+        Cursor cursor = null;
+        try {
+            // the first integer of the "stat" column is the approximate number of rows in the index or table.
+            cursor = rawQuery(QueryStatement.produce("stat").from("sqlite_stat1").where("tbl").eq(table.toString()));
+            if (cursor.moveToFirst()) {
+                String stat = cursor.getString(0);
+                int end = stat.indexOf(' ');
+                return Integer.parseInt(end != -1 ? stat.substring(0, end) : stat);
+            }
+        } catch (Exception e) {
+            // the "sqlite_stat1" table is absent until the first ANALYZE.
+            if (mIsDebug) Log.d(TAG, e.getMessage());
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return getRowCount(QueryStatement.produce().from(table));
+    }
+
+    /**
+     * Performs the keyset(seek) pagination, which fetching the rows after the given key values rather than
+     * skipping the preceding rows by OFFSET, thus a deep page costs the same as the first page when the
+     * key columns are indexed. It fit to the infinite scrolling which going through pages sequentially.
+     * <p/>
+     * The original SQL statement would be wrapping as a subquery like "SELECT * FROM ([original SQL])
+     * WHERE k1 > ? OR k1 = ? AND k2 > ? ORDER BY k1, k2 LIMIT [pageItemCount + 1]", the extra row
+     * is used to determine whether the next page exists, no counting query would be performed.
+     * <p/>
+     * <strong>Notice:</strong> The key columns must be NOT NULL and selected by the original SQL, and their
+     * values combination should be unique, such as (price, product_id), otherwise rows could be skipped.
+     *
+     * @param sql           the SELECT SQL statement, the ORDER BY clause is unnecessary.
+     * @param keyColumns    the sort key columns.
+     * @param lastKeys      the continuation token took from {@link SeekPaginationList#getLastKeys()}
+     *                      of the previous page, or null to fetching the first page.
+     * @param descending    true to sorting all the key columns in DESCENDING order.
+     * @param pageItemCount how many item a page have.
+     * @param mapper        the fetching principle for one row.
+     * @param <T>           the generic entity which represent one row.
+     * @return the resultset list which carrying the continuation token.
+     */
+    public <T> SeekPaginationList<T> getSeekPaginationList(Statement sql, String[] keyColumns, Object[] lastKeys,
+                                                           boolean descending, int pageItemCount, RowMapper<T> mapper) {
+        SeekPaginationList<T> records = new SeekPaginationList<T>(pageItemCount);
+        Statement stmt = buildSeekStatement(sql, keyColumns, lastKeys, descending, pageItemCount + 1);
+
+        Cursor cursor = null;
+        try {
+            cursor = rawQuery(stmt);
+            while (records.size() < pageItemCount && cursor.moveToNext()) {
+                records.add(mapper.mapRow(cursor));
+            }
+            records.setHasNextPage(cursor.moveToNext());
+
+            if (!records.isEmpty()) {
+                cursor.moveToPosition(records.size() - 1);
+                Object[] keys = new Object[keyColumns.length];
+                for (int i = 0; i < keyColumns.length; i++) {
+                    keys[i] = getColumnValue(cursor, cursor.getColumnIndexOrThrow(keyColumns[i]));
+                }
+                records.setLastKeys(keys);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        } finally {
+            if (cursor != null) cursor.close();
+        }
+        return records;
+    }
+
+    /**
+     * Performs the keyset(seek) pagination in ASCENDING order, each row was mapped to an instance
+     * of the specified Class.
+     *
+     * @see #getSeekPaginationList(Statement, String[], Object[], boolean, int, RowMapper)
+     */
+    public <T> SeekPaginationList<T> getSeekPaginationList(Statement sql, String[] keyColumns,
+                                                           Object[] lastKeys, int pageItemCount, final Class<T> clazz) {
+        return getSeekPaginationList(sql, keyColumns, lastKeys, false, pageItemCount, getEntityMapper(clazz));
+    }
+
+    /**
+     * Wrapping the SQL as a subquery then appending the seek conditions, the tuple comparison such as
+     * "(k1, k2) > (?, ?)" is unavailable before SQLite 3.15, so expanding it to the OR conditions.
+     */
+    protected Statement buildSeekStatement(Statement sql, String[] keyColumns, Object[] lastKeys,
+                                           boolean descending, int limit) {
+        Statement stmt = QueryStatement.produce().from(new Parenthesize(sql)).binding();
+
+        if (lastKeys != null) {
+            if (lastKeys.length != keyColumns.length) {
+                throw new IllegalArgumentException("The lastKeys must match the keyColumns.");
+            }
+
+            for (int i = 0; i < keyColumns.length; i++) {
+                for (int j = 0; j <= i; j++) {
+                    if (j == 0) {
+                        if (i == 0) stmt.where(keyColumns[j]);
+                        else stmt.or(keyColumns[j]);
+                    } else {
+                        stmt.and(keyColumns[j]);
+                    }
+
+                    if (j < i) stmt.eq(lastKeys[j]);
+                    else if (descending) stmt.lt(lastKeys[j]);
+                    else stmt.gt(lastKeys[j]);
+                }
+            }
+        }
+
+        Object[] orderColumns = keyColumns;
+        if (descending) {
+            orderColumns = new Object[keyColumns.length];
+            for (int i = 0; i < keyColumns.length; i++) {
+                orderColumns[i] = keyColumns[i] + " DESC";
+            }
+        }
+        return stmt.orderBy(orderColumns).limit(limit);
+    }
+
+    /**
+     * Take the column value by its own storage class, fallback to STRING
+     * before Honeycomb because of {@link Cursor#getType(int)} unavailable.
+     */
+    static Object getColumnValue(Cursor cursor, int columnIndex) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB) {
+            return cursor.getString(columnIndex);
+        }
+
+        switch (cursor.getType(columnIndex)) {
+            case Cursor.FIELD_TYPE_NULL:
+                return null;
+            case Cursor.FIELD_TYPE_INTEGER:
+                return cursor.getLong(columnIndex);
+            case Cursor.FIELD_TYPE_FLOAT:
+                return cursor.getDouble(columnIndex);
+            case Cursor.FIELD_TYPE_BLOB:
+                return cursor.getBlob(columnIndex);
+            default:
+                return cursor.getString(columnIndex);
+        }
+    }
+
+    /**
+     * Looping the given List, put every item of that into the {@link DBOperator} to producing an individual SQL statement to performing.
+     * <p/>
+     * Normally used to batch both SQL inserts, updates, and deletes, it does not make sense to batch select statements.
+     * <p/>
+     * <strong>Note:</strong> All the batch update would be inside a transaction, which make us possible to avoiding
+     * data inconsistent by declare "INSERT||UPDATE OR ROLLBACK ..." form's statement whenever necessary.
+     *
+     * @param list     the batch datasource.
+     * @param operator the SQL producer by each item of the datasource.
+     * @param <T>      the datasource generic type.
+     * @return true if without any errors.
+     */
+    public <T> boolean executeBatch(List<T> list, DBOperator<T> operator) {
+        if (list == null || list.size() == 0) return false;
+        SQLiteDatabase dataBase = null;
+        boolean succeed = false;
+        Set<String> changedTables = new HashSet<String>();
+        try {
+            dataBase = acquireDatabase();
+            // TODO : It appeared SQLite would begin a transaction for UPDATE statement automatically,
+            // TODO : see {@link android.database.sqlite.SQLiteStatement#acquireAndLock()}.
+            beginTransaction(dataBase, true);
+            for (T entity : list) {
+                Object sql = operator.produce(entity);
+                debugSql(sql);
+
+                Set<String> tables = getTables(sql);
+                if (tables == null || changedTables == null) {
+                    changedTables = null;
+                } else {
+                    changedTables.addAll(tables);
+                }
+
+                Object[] args = getBindArgs(sql);
+                if (args != null && args.length > 0) {
+                    dataBase.execSQL(sql.toString(), args);
+                } else {
+                    dataBase.execSQL(sql.toString());
+                }
+            }
+            dataBase.setTransactionSuccessful();
+            succeed = true;
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        } finally {
+            if (dataBase != null) {
+                dataBase.endTransaction();
+                releaseDatabase();
+            }
+        }
+
+        // informing after the transaction committed to let the readers seeing the changes.
+        if (succeed) notifyTablesChanged(changedTables);
+        return succeed;
+    }
+
+    /**
+     * @see #executeBatch(java.util.List, DBOperator)
+     */
+    public <T> boolean executeBatch(T[] array, DBOperator<T> operator) {
+        return executeBatch(Arrays.asList(array), operator);
+    }
+
+    /**
+     * Compiling the SQL template which produced by the {@link DBBinder} only once, then looping the given List,
+     * binding every item of that to the compiled statement and executing it repeatedly.
+     * <p/>
+     * Compare with {@link #executeBatch(java.util.List, DBOperator)}, this way saves the parsing
+     * of every individual SQL statement, that's make a huge difference in massive batch.
+     * <p/>
+     * <strong>Note:</strong> All the batch update would be inside a transaction as well.
+     *
+     * @param list   the batch datasource.
+     * @param binder the SQL template producer and the binder of each item of the datasource.
+     * @param <T>    the datasource generic type.
+     * @return true if without any errors.
+     */
+    public <T> boolean executeBatch(List<T> list, DBBinder<T> binder) {
+        if (list == null || list.size() == 0) return false;
+        SQLiteDatabase dataBase = null;
+        SQLiteStatement statement = null;
+        String sqlText = null;
+        boolean succeed = false;
+        Set<String> changedTables = null;
+        try {
+            dataBase = acquireDatabase();
+            beginTransaction(dataBase, true);
+
+            Object sql = binder.produce();
+            debugSql(sql);
+            sqlText = sql.toString();
+            changedTables = getTables(sql);
+            statement = compileStatement(dataBase, sqlText);
+
+            for (T entity : list) {
+                statement.clearBindings();
+                binder.bind(statement, entity);
+                statement.execute();
+            }
+            dataBase.setTransactionSuccessful();
+            succeed = true;
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        } finally {
+            if (dataBase != null) {
+                if (statement != null) releaseStatement(dataBase, sqlText, statement);
+                dataBase.endTransaction();
+                releaseDatabase();
+            }
+        }
+
+        if (succeed) notifyTablesChanged(changedTables);
+        return succeed;
+    }
+
+    /**
+     * @see #executeBatch(java.util.List, DBBinder)
+     */
+    public <T> boolean executeBatch(T[] array, DBBinder<T> binder) {
+        return executeBatch(Arrays.asList(array), binder);
+    }
+
+    /**
+     * Performs the query and return the first row as an entity via {@link RowMapper}.
+     *
+     * @param sql    the SELECT SQL statement.
+     * @param mapper the fetching principle for one row.
+     * @param <T>    the generic entity which represent one row.
+     * @return the row's entity.
+     */
+    public <T> T getEntity(Object sql, RowMapper<T> mapper) {
+        try {
+            return queryEntity(sql, mapper);
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private <T> T queryEntity(Object sql, RowMapper<T> mapper) {
+        Cursor cursor = rawQuery(sql);
+        try {
+            if (cursor.moveToFirst()) return mapper.mapRow(cursor);
+        } finally {
+            cursor.close();
+        }
+        return null;
+    }
+
+    /**
+     * Performs the query and return the first row as an entity which instancing of the specified Class.
+     *
+     * @param sql   the SELECT SQL statement.
+     * @param clazz the entity class.
+     * @param <T>   the generic entity which represent one row.
+     * @return the instantiated row entity.
+     * @see #getEntity(android.database.Cursor, Class)
+     * @see #setResultCacheSize(int)
+     * @see #setSingleFlight(boolean)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getEntity(final Object sql, final Class<T> clazz) {
+        final QueryCache<Object> cache = mResultCache;
+        if (cache == null && mSingleFlight == null) return getEntity(sql, getEntityMapper(clazz));
+
+        final String key = "entity|" + clazz.getName() + "|" + QueryCache.buildKey(sql);
+        if (cache != null) {
+            T cached = (T) cache.get(key);
+            if (cached != null) return cached;
+        }
+
+        try {
+            return share(key, sql, new Callable<T>() {
+                @Override
+                public T call() {
+                    long generation = cache != null ? cache.getGeneration() : 0;
+                    SizingRowMapper<T> mapper = new SizingRowMapper<T>(getEntityMapper(clazz));
+                    T entity = queryEntity(sql, mapper);
+                    // the absent row isn't cached, it's indistinguishable from a miss.
+                    if (entity != null && cache != null) cache.put(key, getTables(sql), entity, generation, mapper.size);
+                    return entity;
+                }
+            });
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Performs the query as {@link #getList(Object, Class)}, but the rows with the same primary key would be mapped
+     * to the same instance which held in the {@link IdentityMap}, e.g. selecting the Categories of each Product row
+     * in a joined query only instancing those distinct categories. Keeping the identity map across queries to
+     * sharing the instances within a session, the map would be cleared once any table of the query been written
+     * through this DBOverseer, see {@link #trackIdentityMap(IdentityMap, Object)}.
+     *
+     * @param sql         the SELECT SQL statement.
+     * @param clazz       the row's entity class.
+     * @param identityMap the identity map to looking up and holding the entities.
+     * @param keyColumn   the name of primary key column in the resultset.
+     * @param <T>         the generic entity which represent one row.
+     * @return the resultset list.
+     * @see IdentityRowMapper
+     */
+    public <T> List<T> getList(Object sql, Class<T> clazz, IdentityMap identityMap, String keyColumn) {
+        trackIdentityMap(identityMap, sql);
+        return getList(sql, new IdentityRowMapper<T>(identityMap, clazz, keyColumn, getEntityMapper(clazz)));
+    }
+
+    /**
+     * Making the identity map depend on the tables of the query, the map would be cleared as soon as any of them
+     * been written through this DBOverseer, thus the later queries mapping the rows again instead of returning the
+     * stale entities. Should be called before performing the query which interning entities into the map, e.g.
+     * when using {@link IdentityRowMapper} inside a custom RowMapper with a session map.
+     * <p/>
+     * Only weakly referencing the map, an abandoned map wouldn't be kept alive.
+     *
+     * @param identityMap the identity map which holding the entities of the query.
+     * @param sql         the query which the entities were selected by.
+     */
+    public void trackIdentityMap(IdentityMap identityMap, Object sql) {
+        identityMap.dependOn(getTables(sql));
+        mIdentityMaps.add(identityMap);
+    }
+
+    /**
+     * Enable caching the results of {@link #getList(Object, Class)} and {@link #getEntity(Object, Class)}, keyed by
+     * the SQL, its bind arguments and the entity class. The cached results would be dropped once the tables they
+     * depended on were written through this DBOverseer, e.g. the tables of FROM||JOIN clauses of the Statement.
+     * The tables of String SQLs are parsed as a best effort, see {@link Statement#parseTables(CharSequence)}.
+     * <p/>
+     * Suitable for those reference queries which performing repeatedly, e.g. the categories list. Each hit returns
+     * a new list, but the entities are shared between hits, <strong>don't</strong> modifying them.
+     * <p/>
+     * <strong>Note:</strong> The writes performing directly on the {@link SQLiteDatabase} can't be tracked,
+     * don't enable this if there are any.
+     *
+     * @param maxSize the maximum number of results to caching, zero to disable.
+     * @see QueryCache
+     */
+    public synchronized void setResultCacheSize(int maxSize) {
+        mResultCache = maxSize > 0 ? new QueryCache<Object>(maxSize) : null;
+    }
+
+    /**
+     * Return the cache of query results to checking its hit/miss/invalidation counters and estimated memory size.
+     *
+     * @return the cache, or null if disabled.
+     */
+    public QueryCache<Object> getResultCache() {
+        return mResultCache;
+    }
+
+    /**
+     * Enable de-duplicating the identical queries which performing concurrently, e.g. several Fragments of one screen
+     * firing the same query within a few milliseconds, the later callers would wait for the running one and sharing
+     * its result instead of opening another Cursor. Covers {@link #getList(Object, Class)},
+     * {@link #getEntity(Object, Class)}, {@link #getInts(Object)}, {@link #getStrings(Object)} and the column
+     * methods, also the methods built on them such as {@link #getInt(Object)}.
+     * <p/>
+     * <strong>Note:</strong> The waiting callers of {@link #getEntity(Object, Class)} take the very same entity
+     * instance as the leading caller, and those of {@link #getList(Object, Class)} take their own list, but
+     * the entities inside it are shared as well, <strong>don't</strong> modifying the entities which might be
+     * seen by other threads, or leave this disabled. The arrays of the primitive methods are copied.
+     * <p/>
+     * The queries performing inside an {@link #inTransaction} scope, or by a thread which holding an open Cursor,
+     * are never shared, because they might seeing the uncommitted data, or blocking the query they waiting for.
+     *
+     * @param enabled true to enable.
+     * @see SingleFlight
+     */
+    public synchronized void setSingleFlight(boolean enabled) {
+        if (enabled) {
+            if (mSingleFlight == null) mSingleFlight = new SingleFlight();
+        } else {
+            mSingleFlight = null;
+        }
+    }
+
+    /**
+     * Return the single-flight layer to checking how many executions have been saved.
+     *
+     * @return the single-flight layer, or null if disabled.
+     */
+    public SingleFlight getSingleFlight() {
+        return mSingleFlight;
+    }
+
+    /**
+     * Performing the query through the single-flight layer if enabled and the current thread is able to sharing.
+     *
+     * @throws Exception the error of the query which performed in the current thread.
+     */
+    private <V> V share(String key, Object sql, Callable<V> query) throws Exception {
+        SingleFlight singleFlight = mSingleFlight;
+        if (singleFlight == null || mTransactionScopes.get() != null) return query.call();
+
+        ReaderLease lease = mReaderLeases.get();
+        if (lease != null && lease.count > 0) return query.call();
+
+        return singleFlight.execute(key, getTables(sql), query);
+    }
+
+    /**
+     * A RowMapper which estimating the memory size of the mapped rows by their column values, the Strings are
+     * counted by two bytes per char, the numbers by eight bytes, plus an entity header for each row.
+     */
+    private static class SizingRowMapper<T> implements RowMapper<T> {
+        private static final int ENTITY_OVERHEAD = 16;
+
+        private final RowMapper<T> mMapper;
+        long size;
+
+        SizingRowMapper(RowMapper<T> mapper) {
+            mMapper = mapper;
+        }
+
+        @Override
+        public T mapRow(Cursor cursor) {
+            size += ENTITY_OVERHEAD;
+            for (int i = 0; i < cursor.getColumnCount(); i++) {
+                size += estimateSize(cursor, i);
+            }
+            return mMapper.mapRow(cursor);
+        }
+
+        private static long estimateSize(Cursor cursor, int index) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+                switch (cursor.getType(index)) {
+                    case Cursor.FIELD_TYPE_NULL:
+                        return 0;
+                    case Cursor.FIELD_TYPE_INTEGER:
+                    case Cursor.FIELD_TYPE_FLOAT:
+                        return 8;
+                    case Cursor.FIELD_TYPE_BLOB:
+                        return cursor.getBlob(index).length;
+                }
+            }
+            String value = cursor.getString(index);
+            return value != null ? 2 * value.length() : 0;
+        }
+    }
+
+    /**
+     * Performs {@link #getList(Object, Class)} on the read executor.
+     *
+     * @param sql   the SELECT SQL statement.
+     * @param clazz the row's entity class.
+     * @param <T>   the generic entity which represent one row.
+     * @return the Future of the resultset list, cancelling it would interrupt the running query.
+     * @see #submitRead(Callable, DBCallback)
+     */
+    public <T> Future<List<T>> getListAsync(Object sql, Class<T> clazz) {
+        return getListAsync(sql, clazz, null);
+    }
+
+    /**
+     * Performs {@link #getList(Object, Class)} on the read executor, then delivering the result to the callback.
+     *
+     * @see #getListAsync(Object, Class)
+     */
+    public <T> Future<List<T>> getListAsync(Object sql, final Class<T> clazz, DBCallback<List<T>> callback) {
+        final Object snapshot = snapshot(sql);
+        return submitRead(new Callable<List<T>>() {
+            @Override
+            public List<T> call() throws Exception {
+                return getList(snapshot, clazz);
+            }
+        }, callback);
+    }
+
+    /**
+     * Performs {@link #getEntity(Object, Class)} on the read executor.
+     *
+     * @see #submitRead(Callable, DBCallback)
+     */
+    public <T> Future<T> getEntityAsync(Object sql, Class<T> clazz) {
+        return getEntityAsync(sql, clazz, null);
+    }
+
+    /**
+     * Performs {@link #getEntity(Object, Class)} on the read executor, then delivering the result to the callback.
+     *
+     * @see #submitRead(Callable, DBCallback)
+     */
+    public <T> Future<T> getEntityAsync(Object sql, final Class<T> clazz, DBCallback<T> callback) {
+        final Object snapshot = snapshot(sql);
+        return submitRead(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return getEntity(snapshot, clazz);
+            }
+        }, callback);
+    }
+
+    /**
+     * Performs {@link #getPaginationList(Statement, int, int, Class)} on the read executor.
+     *
+     * @see #submitRead(Callable, DBCallback)
+     */
+    public <T> Future<PaginationList<T>> getPaginationListAsync(Statement sql, int pageNo,
+                                                                int pageItemCount, Class<T> clazz) {
+        return getPaginationListAsync(sql, pageNo, pageItemCount, clazz, null);
+    }
+
+    /**
+     * Performs {@link #getPaginationList(Statement, int, int, Class)} on the read executor,
+     * then delivering the result to the callback.
+     *
+     * @see #submitRead(Callable, DBCallback)
+     */
+    public <T> Future<PaginationList<T>> getPaginationListAsync(Statement sql, final int pageNo, final int pageItemCount,
+                                                                final Class<T> clazz, DBCallback<PaginationList<T>> callback) {
+        final Statement snapshot = sql.copy();
+        return submitRead(new Callable<PaginationList<T>>() {
+            @Override
+            public PaginationList<T> call() throws Exception {
+                return getPaginationList(snapshot, pageNo, pageItemCount, clazz);
+            }
+        }, callback);
+    }
+
+    /**
+     * Performs {@link #executeSql(Object)} on the write executor.
+     *
+     * @see #submitWrite(Callable, DBCallback)
+     */
+    public Future<Integer> executeSqlAsync(Object sql) {
+        return executeSqlAsync(sql, null);
+    }
+
+    /**
+     * Performs {@link #executeSql(Object)} on the write executor, then delivering the result to the callback.
+     *
+     * @see #submitWrite(Callable, DBCallback)
+     */
+    public Future<Integer> executeSqlAsync(Object sql, DBCallback<Integer> callback) {
+        final Object snapshot = snapshot(sql);
+        if (mGroupCommitWindow > 0) {
+            final PendingWrite write = new PendingWrite(snapshot, false);
+            return enqueueWrite(write, new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return (int) write.result;
+                }
+            }, callback);
+        }
+
+        return submitWrite(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return executeSql(snapshot);
+            }
+        }, callback);
+    }
+
+    /**
+     * Performs {@link #executeInsert(Object)} on the write executor.
+     *
+     * @see #submitWrite(Callable, DBCallback)
+     */
+    public Future<Long> executeInsertAsync(Object sql) {
+        return executeInsertAsync(sql, null);
+    }
+
+    /**
+     * Performs {@link #executeInsert(Object)} on the write executor, then delivering the result to the callback.
+     *
+     * @see #submitWrite(Callable, DBCallback)
+     */
+    public Future<Long> executeInsertAsync(Object sql, DBCallback<Long> callback) {
+        final Object snapshot = snapshot(sql);
+        if (mGroupCommitWindow > 0) {
+            final PendingWrite write = new PendingWrite(snapshot, true);
+            return enqueueWrite(write, new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    return write.result;
+                }
+            }, callback);
+        }
+
+        return submitWrite(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return executeInsert(snapshot);
+            }
+        }, callback);
+    }
+
+    /**
+     * Performs {@link #executeBatch(List, DBOperator)} on the write executor, then delivering the result to
+     * the callback if not null. The list shouldn't be changed until the operation completed.
+     *
+     * @see #submitWrite(Callable, DBCallback)
+     */
+    public <T> Future<Boolean> executeBatchAsync(final List<T> list, final DBOperator<T> operator,
+                                                 DBCallback<Boolean> callback) {
+        return submitWrite(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return executeBatch(list, operator);
+            }
+        }, callback);
+    }
+
+    /**
+     * Performs {@link #executeBatch(List, DBBinder)} on the write executor, then delivering the result to
+     * the callback if not null. The list shouldn't be changed until the operation completed.
+     *
+     * @see #submitWrite(Callable, DBCallback)
+     */
+    public <T> Future<Boolean> executeBatchAsync(final List<T> list, final DBBinder<T> binder,
+                                                 DBCallback<Boolean> callback) {
+        return submitWrite(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return executeBatch(list, binder);
+            }
+        }, callback);
+    }
+
+    /**
+     * Performs the reading task on the read executor, a bounded pool which sized by {@link #setReadPoolSize(int)},
+     * enable the {@link #enableWriteAheadLogging(int) write-ahead logging} to make them reading concurrently.
+     * <p/>
+     * Cancelling the returned Future with mayInterruptIfRunning also cancels the running
+     * query via {@link CancellationSignal}, which requiring API 16.
+     *
+     * @param task     the reading task, which performing the queries through this DBOverseer.
+     * @param callback the receiver of the result, nullable.
+     * @param <T>      the result type.
+     * @return the Future of the result.
+     */
+    public <T> Future<T> submitRead(Callable<T> task, DBCallback<T> callback) {
+        return submit(getReadExecutor(), task, callback);
+    }
+
+    /**
+     * Performs the writing task on the write executor, a single thread which serialising all the asynchronous writes.
+     * A running write wouldn't be interrupted by cancelling, only the waiting one could be cancelled.
+     *
+     * @param task     the writing task, which performing the SQLs through this DBOverseer.
+     * @param callback the receiver of the result, nullable.
+     * @param <T>      the result type.
+     * @return the Future of the result.
+     */
+    public <T> Future<T> submitWrite(Callable<T> task, DBCallback<T> callback) {
+        return submit(getWriteExecutor(), task, callback);
+    }
+
+    private <T> Future<T> submit(ExecutorService executor, final Callable<T> task, DBCallback<T> callback) {
+        final CancellationSignal signal =
+                Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN ? new CancellationSignal() : null;
+        Looper looper = Looper.myLooper();
+        OperationTask<T> operation = new OperationTask<T>(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                mCancellationSignals.set(signal);
+                try {
+                    return task.call();
+                } finally {
+                    mCancellationSignals.remove();
+                }
+            }
+        }, signal, callback, looper != null ? new Handler(looper) : null);
+        executor.execute(operation);
+        return operation;
+    }
+
+    /**
+     * Enable the group commit of {@link #executeSqlAsync} and {@link #executeInsertAsync}, the writes arriving within
+     * the window would be gathered and performed in a single transaction, which paying the cost of committing only
+     * once. The gathering starts at the first write arrived, and ends once the window elapsed or maxWrites reached.
+     * <p/>
+     * Each write still completes with its own result, a failed write completes with the same
+     * default value as the synchronous method, and doesn't affect the others in that group,
+     * except those "OR ROLLBACK" statements which rolling back the whole transaction.
+     *
+     * @param windowMillis how long to gathering the writes in milliseconds, zero to disable.
+     * @param maxWrites    the maximum number of writes in a group.
+     */
+    public void setGroupCommit(long windowMillis, int maxWrites) {
+        if (windowMillis > 0 && maxWrites <= 0) throw new IllegalArgumentException("maxWrites <= 0");
+        mGroupCommitMaxWrites = maxWrites;
+        mGroupCommitWindow = windowMillis;
+        // performing the gathered writes right now if disabled.
+        if (windowMillis <= 0) getWriteExecutor().execute(mGroupCommitTask);
+    }
+
+    /**
+     * Return how many group commits have been performed.
+     *
+     * @return the commit count.
+     */
+    public int getGroupCommitCount() {
+        synchronized (mGroupCommitLock) {
+            return mGroupCommitCount;
+        }
+    }
+
+    /**
+     * Return how many writes have been performed by the group commits.
+     *
+     * @return the write count.
+     */
+    public int getGroupedWriteCount() {
+        synchronized (mGroupCommitLock) {
+            return mGroupedWriteCount;
+        }
+    }
+
+    private <T> Future<T> enqueueWrite(PendingWrite write, Callable<T> result, DBCallback<T> callback) {
+        Looper looper = Looper.myLooper();
+        OperationTask<T> task = new OperationTask<T>(result, null, callback, looper != null ? new Handler(looper) : null);
+        write.task = task;
+
+        boolean flushNow, schedule;
+        synchronized (mGroupCommitLock) {
+            mPendingWrites.add(write);
+            schedule = mPendingWrites.size() == 1;
+            flushNow = mPendingWrites.size() >= mGroupCommitMaxWrites;
+        }
+
+        if (flushNow) {
+            getWriteExecutor().execute(mGroupCommitTask);
+        } else if (schedule) {
+            getWriteExecutor().schedule(mGroupCommitTask, mGroupCommitWindow, TimeUnit.MILLISECONDS);
+        }
+        return task;
+    }
+
+    private final Runnable mGroupCommitTask = new Runnable() {
+        @Override
+        public void run() {
+            performGroupCommit();
+        }
+    };
+
+    /**
+     * Performing all the gathered writes in a single transaction, then completing them after committed.
+     */
+    private void performGroupCommit() {
+        List<PendingWrite> writes;
+        synchronized (mGroupCommitLock) {
+            if (mPendingWrites.isEmpty()) return;
+            writes = mPendingWrites;
+            mPendingWrites = new ArrayList<PendingWrite>();
+        }
+
+        SQLiteDatabase dataBase = null;
+        boolean succeed = false;
+        Set<String> changedTables = new HashSet<String>();
+        try {
+            dataBase = acquireDatabase();
+            beginTransaction(dataBase, true);
+            for (PendingWrite write : writes) {
+                if (write.task.isCancelled()) continue;
+
+                Set<String> tables = getTables(write.sql);
+                if (tables == null || changedTables == null) {
+                    changedTables = null;
+                } else {
+                    changedTables.addAll(tables);
+                }
+
+                SQLiteStatement statement = null;
+                String sqlText = write.sql.toString();
+                try {
+                    statement = compileStatement(dataBase, sqlText);
+                    bindArgs(statement, write.sql);
+                    debugSql(write.sql);
+                    write.result = write.insert ? statement.executeInsert() : statement.executeUpdateDelete();
+                } catch (Exception e) {
+                    Log.e(TAG, e.getMessage(), e);
+                    write.result = write.insert ? -1 : 0;
+                } finally {
+                    if (statement != null) releaseStatement(dataBase, sqlText, statement);
+                }
+            }
+            dataBase.setTransactionSuccessful();
+            succeed = true;
+        } catch (Exception e) {
+            Log.e(TAG, e.getMessage(), e);
+        } finally {
+            if (dataBase != null) {
+                try {
+                    dataBase.endTransaction();
+                } catch (Exception e) {
+                    Log.e(TAG, e.getMessage(), e);
+                    succeed = false;
+                }
+                releaseDatabase();
+            }
+        }
+
+        // informing after the transaction committed to let the readers seeing the changes.
+        if (succeed) notifyTablesChanged(changedTables);
+
+        synchronized (mGroupCommitLock) {
+            mGroupCommitCount++;
+            mGroupedWriteCount += writes.size();
+        }
+
+        for (PendingWrite write : writes) {
+            if (!succeed) write.result = write.insert ? -1 : 0;
+            write.task.run();
+        }
+    }
+
+    /**
+     * A write waiting for the group commit, the task would be run to completing it once committed.
+     */
+    private static class PendingWrite {
+        final Object sql;
+        final boolean insert;
+        OperationTask<?> task;
+        volatile long result;
+
+        PendingWrite(Object sql, boolean insert) {
+            this.sql = sql;
+            this.insert = insert;
+        }
+    }
+
+    /**
+     * Observing the query as {@link #getList(Object, Class)}, which performing on the read executor right now, then
+     * re-running whenever any of its tables was written through this DBOverseer, each result would be delivered to
+     * the callback. Replacing the polling for those screens which should always showing the latest data.
+     *
+     * @param sql            the SELECT SQL statement.
+     * @param clazz          the row's entity class.
+     * @param debounceMillis how long to waiting for more changes before re-running, coalescing the bursting writes.
+     * @param callback       the receiver of the results.
+     * @param <T>            the generic entity which represent one row.
+     * @return the observer, call {@link QueryObserver#cancel()} to stop observing.
+     * @see QueryObserver
+     */
+    public <T> QueryObserver<List<T>> observeList(Object sql, final Class<T> clazz,
+                                                  long debounceMillis, DBCallback<List<T>> callback) {
+        final Object snapshot = snapshot(sql);
+        return observe(snapshot, new Callable<List<T>>() {
+            @Override
+            public List<T> call() throws Exception {
+                return getList(snapshot, clazz);
+            }
+        }, debounceMillis, callback);
+    }
+
+    /**
+     * Observing an arbitrary query which re-running whenever any tables of the SQL changed.
+     *
+     * @param sql            the SQL which the tables would be taken from, see {@link #getTables(Object)}.
+     * @param query          the query which performing through this DBOverseer.
+     * @param debounceMillis how long to waiting for more changes before re-running, coalescing the bursting writes.
+     * @param callback       the receiver of the results.
+     * @param <T>            the result type.
+     * @return the observer, call {@link QueryObserver#cancel()} to stop observing.
+     * @see #observeList(Object, Class, long, DBCallback)
+     */
+    public <T> QueryObserver<T> observe(Object sql, Callable<T> query, long debounceMillis, DBCallback<T> callback) {
+        Set<String> tables = getTables(sql);
+        QueryObserver<T> observer = new QueryObserver<T>(this,
+                tables != null ? new HashSet<String>(tables) : null, query, debounceMillis, callback);
+        mObservers.add(observer);
+        observer.refresh();
+        return observer;
+    }
+
+    void removeObserver(QueryObserver<?> observer) {
+        mObservers.remove(observer);
+    }
+
+    /**
+     * Scheduling the run of the observed query on the read executor, delaying by the write executor's timer.
+     */
+    void scheduleObserver(final Runnable task, long delayMillis) {
+        if (delayMillis <= 0) {
+            getReadExecutor().execute(task);
+            return;
+        }
+        getWriteExecutor().schedule(new Runnable() {
+            @Override
+            public void run() {
+                getReadExecutor().execute(task);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Snapshotting the SQL if it's a {@link Statement}, because the caller might keep changing it.
+     */
+    private static Object snapshot(Object sql) {
+        return sql instanceof Statement ? ((Statement) sql).copy() : sql;
+    }
+
+    /**
+     * Specifying how many threads of the read executor, which would be re-creating
+     * at the next asynchronous read, the default is {@link #DEFAULT_READ_POOL_SIZE}.
+     *
+     * @param poolSize the maximum number of the concurrent asynchronous reads.
+     */
+    public synchronized void setReadPoolSize(int poolSize) {
+        if (poolSize <= 0) throw new IllegalArgumentException("poolSize <= 0");
+        mReadPoolSize = poolSize;
+        if (mReadExecutor != null) {
+            mReadExecutor.shutdown();
+            mReadExecutor = null;
+        }
+    }
+
+    protected synchronized ExecutorService getReadExecutor() {
+        if (mReadExecutor == null) {
+            mReadExecutor = Executors.newFixedThreadPool(mReadPoolSize, newThreadFactory("read", Thread.NORM_PRIORITY));
+        }
+        return mReadExecutor;
+    }
+
+    protected synchronized ScheduledExecutorService getWriteExecutor() {
+        if (mWriteExecutor == null) {
+            mWriteExecutor = Executors.newSingleThreadScheduledExecutor(newThreadFactory("write", Thread.NORM_PRIORITY));
+        }
+        return mWriteExecutor;
+    }
+
+    private static ThreadFactory newThreadFactory(final String name, final int priority) {
+        return new ThreadFactory() {
+            private final AtomicInteger mCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "aSQLitePlus-" + name + "-" + mCount.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(priority);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * An asynchronous operation which cancelling its running query when cancelled, and delivering the result
+     * to the callback through the Handler of the submitting thread once completed.
+     */
+    private static class OperationTask<T> extends FutureTask<T> {
+        private final CancellationSignal mSignal;
+        private final DBCallback<T> mCallback;
+        private final Handler mHandler;
+
+        OperationTask(Callable<T> callable, CancellationSignal signal, DBCallback<T> callback, Handler handler) {
+            super(callable);
+            mSignal = signal;
+            mCallback = callback;
+            mHandler = handler;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && mayInterruptIfRunning && mSignal != null) mSignal.cancel();
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            if (mCallback == null || isCancelled()) return;
+
+            final T result;
+            try {
+                result = get();
+            } catch (Exception e) {
+                Log.e(TAG, e.getMessage(), e);
+                return;
+            }
+
+            if (mHandler == null) {
+                mCallback.onResult(result);
+                return;
+            }
+            mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!isCancelled()) mCallback.onResult(result);
+                }
+            });
+        }
+    }
+
+    public static final String METHOD_PREFIX = "set";
+
+    /**
+     * Fetching current row from the {@link Cursor}, instancing the specified Class and mapping
+     * each presented column's value associated with its name to the entity instance.
      * <p/>
      * The names of columns in SQL statement played a big role here. For example:
      * say the current row contained "nick_name, age, login_time" three columns,
      * then the Class instance's setNickName(...), setAge(...), setLoginTime(...)
      * would be invoke accordingly to mapping their values in.
      * <p/>
-     * Default naming principle accepted used underline(_) to separated each word in SQLite column naming;
-     * For Java, we followed the traditional naming which remove the underline character and Upper Case
-     * the first letter of each word. But that isn't fixed, in order to flexibility, the column name's
-     * translation pattern can be customize by overwrite the {@link #translateColumnName(String)} method.
+     * Default naming principle accepted used underline(_) to separated each word in SQLite column naming;
+     * For Java, we followed the traditional naming which remove the underline character and Upper Case
+     * the first letter of each word. But that isn't fixed, in order to flexibility, the column name's
+     * translation pattern can be customize by overwrite the {@link #translateColumnName(String)} method.
+     * <p/>
+     * <strong>Notice:</strong> Because this approach was powered by Java Reflection, in order to
+     * prevent name mapping problems, it is important to tell <b>ProGuard</b> that which classes
+     * and members you wish not be obfuscated when you build your application in release mode.
+     *
+     * @param cursor the Cursor to map.
+     * @param clazz  the row's entity class.
+     * @param <T>    the generic entity which represent one row.
+     * @return the instantiated row entity.
+     * @see #translateColumnName(String)
+     */
+    protected <T> T getEntity(Cursor cursor, Class<T> clazz) {
+        return getEntityMapping(cursor, clazz).mapRow(cursor);
+    }
+
+    /**
+     * Taking the mapping plan of the Cursor's column layout to the specified Class, it would be resolved at the
+     * first time and cached then. The plan holding the resolved setter methods and their parameter types for
+     * each column, so mapping rows by the plan needn't lookup the methods or translate the column names again.
+     *
+     * @param cursor the Cursor to map.
+     * @param clazz  the row's entity class.
+     * @param <T>    the generic entity which represent one row.
+     * @return the mapping plan.
+     * @see #getEntity(android.database.Cursor, Class)
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> RowMapper<T> getEntityMapping(Cursor cursor, Class<T> clazz) {
+        // obtain all the presented column names.
+        String[] columnNames = cursor.getColumnNames();
+
+        StringBuilder key = new StringBuilder(clazz.getName());
+        for (String columnName : columnNames) {
+            key.append(',').append(columnName);
+        }
+
+        String mappingKey = key.toString();
+        RowMapper<T> mapping = (RowMapper<T>) mEntityMappings.get(mappingKey);
+        if (mapping == null) {
+            String[] translatedNames = new String[columnNames.length];
+            for (int index = 0; index < columnNames.length; index++) {
+                translatedNames[index] = translateColumnName(columnNames[index]);
+            }
+            mapping = new EntityMapping<T>(clazz, columnNames, translatedNames);
+            mEntityMappings.put(mappingKey, mapping);
+        }
+        return mapping;
+    }
+
+    /**
+     * Producing a {@link RowMapper} which mapping rows to the specified Class. The mapping
+     * plan would be resolved once per Cursor rather than per row, that's ideal for lists.
+     *
+     * @param clazz the row's entity class.
+     * @param <T>   the generic entity which represent one row.
+     * @return the row mapper.
+     * @see #getEntityMapping(android.database.Cursor, Class)
+     */
+    protected <T> RowMapper<T> getEntityMapper(final Class<T> clazz) {
+        return new RowMapper<T>() {
+            private Cursor mCursor;
+            private RowMapper<T> mMapping;
+
+            public T mapRow(Cursor cursor) {
+                if (cursor != mCursor) {
+                    mCursor = cursor;
+                    mMapping = getEntityMapping(cursor, clazz);
+                }
+                return mMapping.mapRow(cursor);
+            }
+        };
+    }
+
+    /**
+     * Simply remove all the underline(_) characters to translating the name which
+     * used underline(_) to separated each word in SQLite column naming.
+     *
+     * @param columnName the original column name.
+     * @return the new name with all underline(_) removed.
+     */
+    protected String translateColumnName(String columnName) {
+        return columnName.replaceAll("_", "");
+    }
+
+    /**
+     * Compiling the SQL to a statement, or taking the already compiled one from {@link #mStatementCache}.
+     *
+     * @param dataBase the connection to performing the statement.
+     * @param sql      the SQL text.
+     * @return the compiled statement, should be passed to {@link #releaseStatement} after performed.
+     */
+    protected SQLiteStatement compileStatement(SQLiteDatabase dataBase, String sql) {
+        SQLiteStatement statement = null;
+        if (mStatementCache != null) statement = mStatementCache.acquire(dataBase, sql);
+        if (statement == null) statement = dataBase.compileStatement(sql);
+        return statement;
+    }
+
+    /**
+     * Releasing the statement which compiled by {@link #compileStatement}, put it back
+     * to the {@link #mStatementCache} if enabled, otherwise just close it.
+     *
+     * @param dataBase  the connection which the statement compiled by.
+     * @param sql       the SQL text.
+     * @param statement the compiled statement.
+     */
+    protected void releaseStatement(SQLiteDatabase dataBase, String sql, SQLiteStatement statement) {
+        if (mStatementCache != null) {
+            mStatementCache.release(dataBase, sql, statement);
+        } else {
+            statement.close();
+        }
+    }
+
+    /**
+     * Retrying the operations which failed by the busy or locked database, i.e. another connection holding the lock
+     * longer than the busy timeout of the platform, which otherwise would be logged and looks like "no data".
+     * The retried operations are: beginning the transactions, executing the single statements and the queries.
+     * <p/>
+     * Inside an {@link #inTransaction} scope nothing but the beginning of the outermost transaction is retried,
+     * the busy errors of the operations in the scope are thrown right away, since sleeping would holding the
+     * transaction's lock meanwhile, and re-running a single statement couldn't recovering the whole scope.
+     * The committing isn't retried as well, because the platform ends the transaction even if the COMMIT failed.
      * <p/>
-     * <strong>Notice:</strong> Because this approach was powered by Java Reflection, in order to
-     * prevent name mapping problems, it is important to tell <b>ProGuard</b> that which classes
-     * and members you wish not be obfuscated when you build your application in release mode.
+     * The queries are retried by filling their first window before returning, except those streaming ones,
+     * {@link #forEach}, {@link #iterate} and {@link #getCursorList}, which moving the Cursor by themselves,
+     * their busy errors occurred at the first move wouldn't be retried.
+     * <p/>
+     * <strong>Note:</strong> The thread would be sleeping between attempts, avoid the long deadline in main thread.
      *
-     * @param cursor the Cursor to map.
-     * @param clazz  the row's entity class.
-     * @param <T>    the generic entity which represent one row.
-     * @return the instantiated row entity.
-     * @see #translateColumnName(String)
+     * @param policy the retry policy, null to disable.
+     * @see RetryPolicy
      */
-    protected <T> T getEntity(Cursor cursor, Class<T> clazz) {
+    public void setRetryPolicy(RetryPolicy policy) {
+        mRetryPolicy = policy;
+    }
+
+    /**
+     * Return the retry policy to checking its busy and wait counters.
+     *
+     * @return the policy, or null if disabled.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return mRetryPolicy;
+    }
+
+    /**
+     * An operation which could be performed again if failed by the busy database.
+     */
+    private interface BusyOperation<T> {
+        T perform();
+    }
+
+    /**
+     * Performing the operation, retrying it by the {@link #mRetryPolicy} while failing by the busy database.
+     * Never retrying inside an {@link #inTransaction} scope, see {@link #setRetryPolicy(RetryPolicy)}.
+     *
+     * @return the result of the operation.
+     * @throws RuntimeException the last error if not busy, or the policy gave up.
+     */
+    private <T> T retryOnBusy(BusyOperation<T> operation) {
+        RetryPolicy policy = mRetryPolicy;
+        if (policy == null || mTransactionScopes.get() != null) return operation.perform();
+
+        // the first attempt might already blocked in SQLite by the busy timeout, counting from its beginning.
+        long startTime = SystemClock.uptimeMillis();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                T result = operation.perform();
+                if (attempt > 0) policy.onFinish(SystemClock.uptimeMillis() - startTime, false);
+                return result;
+            } catch (RuntimeException e) {
+                if (!isBusyException(e)) throw e;
+
+                policy.onBusy();
+                long elapsed = SystemClock.uptimeMillis() - startTime;
+                long delay = policy.nextDelay(attempt, elapsed);
+                if (delay < 0) {
+                    policy.onFinish(elapsed, true);
+                    throw e;
+                }
+
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    policy.onFinish(SystemClock.uptimeMillis() - startTime, true);
+                    throw e;
+                }
+                policy.onRetry();
+            }
+        }
+    }
+
+    /**
+     * Determine whether the error was caused by the busy or locked database, recognized by the class name
+     * because SQLiteDatabaseLockedException and SQLiteTableLockedException are not present until API 11.
+     */
+    static boolean isBusyException(Throwable e) {
+        for (; e != null; e = e.getCause()) {
+            String name = e.getClass().getSimpleName();
+            if (name.equals("SQLiteDatabaseLockedException") || name.equals("SQLiteTableLockedException")) return true;
+
+            String message = e.getMessage();
+            if (message != null && (message.contains("database is locked") || message.contains("SQLITE_BUSY"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Beginning the transaction, retrying by the {@link #mRetryPolicy} if the lock can't be acquired.
+     *
+     * @param dataBase  the connection.
+     * @param exclusive true to beginning an EXCLUSIVE transaction, otherwise IMMEDIATE if supported.
+     */
+    private void beginTransaction(final SQLiteDatabase dataBase, final boolean exclusive) {
+        retryOnBusy(new BusyOperation<Void>() {
+            @Override
+            public Void perform() {
+                if (!exclusive && Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+                    dataBase.beginTransactionNonExclusive();
+                } else {
+                    dataBase.beginTransaction();
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Leasing the database connection, which would be keeping open until {@link #shutdown()} is called.
+     * Every lease must be paired with a {@link #releaseDatabase()} call once done with the connection.
+     * <p/>
+     * Closing the connection after every operation would discarding its page cache and compiled statements,
+     * also breaking the others which sharing the same connection in other threads, so we keep it open here.
+     *
+     * @return the writable database.
+     */
+    protected SQLiteDatabase acquireDatabase() {
+        synchronized (mLeaseLock) {
+            if (mDataBase == null || !mDataBase.isOpen()) {
+                mDataBase = mDBHelper.getWritableDatabase();
+                if (mWriteAheadLogging) mDataBase.enableWriteAheadLogging();
+            }
+            mLeaseCount++;
+            return mDataBase;
+        }
+    }
+
+    /**
+     * Returning a lease which taken by {@link #acquireDatabase()}, the connection would be
+     * closed if this is the last outstanding lease and {@link #shutdown()} was requested.
+     */
+    protected void releaseDatabase() {
+        synchronized (mLeaseLock) {
+            if (--mLeaseCount == 0 && mShutdownPending) closeDatabase();
+        }
+    }
+
+    /**
+     * Closing the database connection and releasing all the holding resources. If any lease is still
+     * outstanding, the closing would be deferred until the last one released. Once closed, the next
+     * operation would re-open the database again.
+     */
+    public void shutdown() {
+        synchronized (mLeaseLock) {
+            if (mLeaseCount > 0) {
+                mShutdownPending = true;
+            } else {
+                closeDatabase();
+            }
+        }
+    }
+
+    /**
+     * Return how many leases of the database connection are outstanding now.
+     *
+     * @return the lease count.
+     */
+    public int getLeaseCount() {
+        synchronized (mLeaseLock) {
+            return mLeaseCount;
+        }
+    }
+
+    private void closeDatabase() {
+        if (mStatementCache != null) mStatementCache.evictAll();
+        mDBHelper.close();
+        mDataBase = null;
+        mShutdownPending = false;
+    }
+
+    /**
+     * Enable the write-ahead logging, which make the queries able to reading concurrently in multiple threads while
+     * another one writing, the queries would be dispatched to the connection pool of the {@link SQLiteDatabase}.
+     * <p/>
+     * The number of concurrent reading threads would be bounded by maxReaders, a thread which already reading
+     * wouldn't be counted again for its nested queries. Keep it no more than the connection pool size of the
+     * platform, otherwise the excess threads just waiting inside the {@link SQLiteDatabase} instead.
+     * <p/>
+     * The permit is held until the returning Cursor closed, since the platform Cursor re-acquiring a connection
+     * to filling the later windows. So the long-lived Cursors, e.g. a {@link CursorList} or a {@link RowIterator}
+     * which kept open by an adapter, are counted against maxReaders until they been closed, a thread which
+     * opened them holding one permit for all of them. Reserve the permits for them, or close them as soon as
+     * the screen goes away, otherwise the other threads would be blocked while querying.
+     * <p/>
+     * <strong>Note:</strong> The write-ahead logging requiring API 11, and would be failed if
+     * a transaction is in progress or the database is in-memory.
+     *
+     * @param maxReaders the maximum number of threads which reading concurrently.
+     * @return true if the write-ahead logging was enabled.
+     */
+    public boolean enableWriteAheadLogging(int maxReaders) {
+        if (maxReaders <= 0) throw new IllegalArgumentException("maxReaders <= 0");
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB) return false;
+
+        boolean enabled = false;
+        SQLiteDatabase dataBase = acquireDatabase();
         try {
-            // instancing the generic entity.
-            T entity = clazz.newInstance();
+            enabled = dataBase.enableWriteAheadLogging();
+        } catch (IllegalStateException e) {
+            Log.e(TAG, e.getMessage(), e);
+        } finally {
+            releaseDatabase();
+        }
 
-            // obtain all the presented column names.
-            String[] columnNames = cursor.getColumnNames();
+        if (enabled) {
+            mWriteAheadLogging = true;
+            mReaderPermits = new Semaphore(maxReaders, true);
+        }
+        return enabled;
+    }
 
-            for (int index = 0; index < columnNames.length; index++) {
-                // searching for a method named "set[ColumnName]" such as setLoginTime, setAge(case-insensitive).
-                for (Method method : clazz.getMethods()) {
-                    // picking the matched method by name.
-                    if (method.getName().equalsIgnoreCase(METHOD_PREFIX + translateColumnName(columnNames[index]))) {
-                        // checking the parameter type.
-                        Class paramType = method.getParameterTypes()[0];
-
-                        // invoke the proper getter method of Cursor to putting the value in.
-                        if (paramType == String.class)
-                            method.invoke(entity, cursor.getString(index));
-                        else if (paramType == int.class)
-                            method.invoke(entity, cursor.getInt(index));
-                        else if (paramType == short.class)
-                            method.invoke(entity, cursor.getShort(index));
-                        else if (paramType == long.class)
-                            method.invoke(entity, cursor.getLong(index));
-                        else if (paramType == float.class)
-                            method.invoke(entity, cursor.getFloat(index));
-                        else if (paramType == double.class)
-                            method.invoke(entity, cursor.getDouble(index));
-                        else if (paramType == byte[].class)
-                            method.invoke(entity, cursor.getBlob(index));
-
-                        break;
-                    }
+    public boolean isWriteAheadLoggingEnabled() {
+        return mWriteAheadLogging;
+    }
+
+    /**
+     * Taking a reader permit for the current thread before querying, blocking if the maximum number of
+     * threads are reading. A thread which already holding the permit would just increasing its count.
+     * Every permit must be paired with a {@link #releaseReader(ReaderLease)} call once done with the query.
+     *
+     * @return the permit, or null if the readers are unbounded.
+     */
+    protected ReaderLease acquireReader() {
+        Semaphore permits = mReaderPermits;
+        if (permits == null) return null;
+
+        ReaderLease lease = mReaderLeases.get();
+        if (lease == null || lease.permits != permits) {
+            lease = new ReaderLease(permits);
+            mReaderLeases.set(lease);
+        }
+
+        synchronized (lease) {
+            if (lease.count++ > 0) return lease;
+        }
+        permits.acquireUninterruptibly();
+        return lease;
+    }
+
+    /**
+     * Returning the permit which taken by {@link #acquireReader()}, could be called in any thread.
+     *
+     * @param lease the permit, nothing would be done if null.
+     */
+    protected void releaseReader(ReaderLease lease) {
+        if (lease == null) return;
+        synchronized (lease) {
+            if (--lease.count > 0) return;
+        }
+        lease.permits.release();
+    }
+
+    /**
+     * A reader permit which holding by a thread, counting the outstanding queries of that thread.
+     */
+    protected static class ReaderLease {
+        final Semaphore permits;
+        int count;
+
+        ReaderLease(Semaphore permits) {
+            this.permits = permits;
+        }
+    }
+
+    /**
+     * A Cursor which returns the lease of database connection and the reader permit when closed.
+     */
+    private class LeasedCursor extends CursorWrapper {
+        private final ReaderLease mReaderLease;
+        private boolean mReleased;
+
+        LeasedCursor(Cursor cursor, ReaderLease readerLease) {
+            super(cursor);
+            mReaderLease = readerLease;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            if (!mReleased) {
+                mReleased = true;
+                releaseDatabase();
+                releaseReader(mReaderLease);
+            }
+        }
+    }
+
+    /**
+     * Performs the query against the leased database, binding the arguments if the SQL carried any.
+     *
+     * @param sql the SQL in querying form.
+     * @return the Cursor over the resultset, the caller is responsible for closing it to return the lease.
+     */
+    protected Cursor rawQuery(Object sql) {
+        return rawQuery(sql, true);
+    }
+
+    /**
+     * Performs the query against the leased database, binding the arguments if the SQL carried any.
+     *
+     * @param sql       the SQL in querying form.
+     * @param fillFirst true to filling the first window before returning if a {@link RetryPolicy} was set,
+     *                  which make the busy error retryable, false for the streaming methods which
+     *                  moving the Cursor by themselves.
+     * @return the Cursor over the resultset, the caller is responsible for closing it to return the lease.
+     */
+    protected Cursor rawQuery(final Object sql, final boolean fillFirst) {
+        debugSql(sql);
+        ReaderLease readerLease = acquireReader();
+        final SQLiteDatabase dataBase;
+        try {
+            dataBase = acquireDatabase();
+        } catch (RuntimeException e) {
+            releaseReader(readerLease);
+            throw e;
+        }
+
+        try {
+            Cursor cursor = retryOnBusy(new BusyOperation<Cursor>() {
+                @Override
+                public Cursor perform() {
+                    return performQuery(dataBase, sql, fillFirst);
                 }
+            });
+            return new LeasedCursor(cursor, readerLease);
+        } catch (RuntimeException e) {
+            releaseDatabase();
+            releaseReader(readerLease);
+            throw e;
+        }
+    }
+
+    private Cursor performQuery(SQLiteDatabase dataBase, Object sql, boolean fillFirst) {
+        Cursor cursor;
+        Object[] args = getBindArgs(sql);
+        SQLiteDatabase.CursorFactory factory = args != null && args.length > 0 ? new BindArgsCursorFactory(args) : null;
+        CancellationSignal signal = mCancellationSignals.get();
+        if (signal != null) {
+            // only present on API 16+, see submit().
+            cursor = dataBase.rawQueryWithFactory(factory, sql.toString(), null, null, signal);
+        } else if (factory != null) {
+            cursor = dataBase.rawQueryWithFactory(factory, sql.toString(), null, null);
+        } else {
+            cursor = dataBase.rawQuery(sql.toString(), null);
+        }
+
+        // the query is lazy until the first window filled, performing it now to make the busy error retryable.
+        if (fillFirst && mRetryPolicy != null) {
+            try {
+                cursor.moveToFirst();
+                cursor.moveToPosition(-1);
+            } catch (RuntimeException e) {
+                cursor.close();
+                throw e;
+            }
+        }
+        return cursor;
+    }
+
+    /**
+     * Binding the arguments carried by the SQL to the compiled program by their own types.
+     *
+     * @param program the compiled program.
+     * @param sql     the SQL which the program compiled from.
+     */
+    protected void bindArgs(SQLiteProgram program, Object sql) {
+        Object[] args = getBindArgs(sql);
+        if (args == null) return;
+        for (int i = 0; i < args.length; i++) {
+            DatabaseUtils.bindObjectToProgram(program, i + 1, args[i]);
+        }
+    }
+
+    /**
+     * Taking the tables which the SQL referenced, which recorded by the {@link Statement}, or parsed from
+     * the SQL text as a best effort if it isn't a Statement or carrying an unknown sub-query.
+     *
+     * @param sql the SQL statement.
+     * @return the table names in lower case, or null if unknown.
+     * @see Statement#getTables()
+     * @see Statement#parseTables(CharSequence)
+     */
+    protected static Set<String> getTables(Object sql) {
+        Set<String> tables = sql instanceof Statement ? ((Statement) sql).getTables() : null;
+        if (tables == null || tables.isEmpty() || tables.contains(Statement.ANY_TABLE)) {
+            tables = Statement.parseTables(sql.toString());
+        }
+        return tables.isEmpty() ? null : tables;
+    }
+
+    /**
+     * Performs the callback inside an {@link TransactionMode#IMMEDIATE} transaction.
+     *
+     * @see #inTransaction(TransactionMode, TransactionCallback)
+     */
+    public <T> T inTransaction(TransactionCallback<T> callback) {
+        return inTransaction(TransactionMode.IMMEDIATE, callback);
+    }
+
+    /**
+     * Performs the callback inside a transaction, all the operations which performing through this DBOverseer
+     * by the callback would sharing the connection and committing once, instead of paying for each statement.
+     * The transaction would be committed if the callback returns normally, otherwise rolled back.
+     * <p/>
+     * Calling this method again inside the callback opens a nested scope by "SAVEPOINT", the failure of a nested
+     * scope only rolling back its own changes, the outer one could still be committed. The mode of a nested scope
+     * is ignored.
+     * <p/>
+     * <strong>Note:</strong> The transaction is bound to the current thread, the asynchronous operations and those
+     * in other threads wouldn't participate in it. {@link #executeBatch} joins the transaction as well, but its
+     * failure makes the whole transaction rolled back when the outermost scope ends.
+     *
+     * @param mode     how to beginning the outermost transaction.
+     * @param callback performing the operations.
+     * @param <T>      the result type of the transaction.
+     * @return the result of the callback, or null if rolled back.
+     */
+    public <T> T inTransaction(TransactionMode mode, TransactionCallback<T> callback) {
+        TransactionScope scope = mTransactionScopes.get();
+        if (scope != null) return inSavepoint(scope, callback);
+
+        SQLiteDatabase dataBase = acquireDatabase();
+        scope = new TransactionScope(dataBase);
+        T result = null;
+        boolean succeed = false;
+        try {
+            beginTransaction(dataBase, mode == TransactionMode.EXCLUSIVE);
+            mTransactionScopes.set(scope);
+
+            try {
+                result = callback.perform(this);
+                dataBase.setTransactionSuccessful();
+                succeed = true;
+            } finally {
+                mTransactionScopes.remove();
+                dataBase.endTransaction();
             }
-            return entity;
         } catch (Exception e) {
             Log.e(TAG, e.getMessage(), e);
+            succeed = false;
+        } finally {
+            releaseDatabase();
+        }
+
+        // informing after the transaction committed to let the readers seeing the changes.
+        if (succeed && scope.changedTables != TransactionScope.NONE) onTablesChanged(scope.changedTables);
+        return succeed ? result : null;
+    }
+
+    private <T> T inSavepoint(TransactionScope scope, TransactionCallback<T> callback) {
+        String savepoint = "asqliteplus_savepoint_" + (++scope.depth);
+        try {
+            scope.dataBase.execSQL("SAVEPOINT " + savepoint);
+            try {
+                T result = callback.perform(this);
+                scope.dataBase.execSQL("RELEASE " + savepoint);
+                return result;
+            } catch (Exception e) {
+                Log.e(TAG, e.getMessage(), e);
+                // the leading ";" hiding the "ROLLBACK" keyword from the platform, which classifying the statement as
+                // an abort and rolling back the whole transaction on API 16-27, see DatabaseUtils.getSqlStatementType().
+                scope.dataBase.execSQL(";ROLLBACK TO " + savepoint);
+                scope.dataBase.execSQL("RELEASE " + savepoint);
+            }
+        } finally {
+            scope.depth--;
         }
         return null;
     }
 
     /**
-     * Simply remove all the underline(_) characters to translating the name which
-     * used underline(_) to separated each word in SQLite column naming.
+     * The state of the transaction which opened by {@link #inTransaction} in a thread.
+     */
+    private static class TransactionScope {
+        static final Set<String> NONE = Collections.emptySet();
+
+        final SQLiteDatabase dataBase;
+        int depth;
+
+        /**
+         * The tables which written inside the transaction, null indicates unknown.
+         */
+        Set<String> changedTables = NONE;
+
+        TransactionScope(SQLiteDatabase dataBase) {
+            this.dataBase = dataBase;
+        }
+
+        void addChangedTables(Set<String> tables) {
+            if (changedTables == null) return;
+            if (tables == null) {
+                changedTables = null;
+            } else {
+                if (changedTables == NONE) changedTables = new HashSet<String>();
+                changedTables.addAll(tables);
+            }
+        }
+    }
+
+    /**
+     * Informing the tables have been written, the informing would be deferred until the
+     * transaction committed if the current thread is inside an {@link #inTransaction} scope.
      *
-     * @param columnName the original column name.
-     * @return the new name with all underline(_) removed.
+     * @param tables the changed tables in lower case, null indicates unknown.
      */
-    protected String translateColumnName(String columnName) {
-        return columnName.replaceAll("_", "");
+    private void notifyTablesChanged(Set<String> tables) {
+        TransactionScope scope = mTransactionScopes.get();
+        if (scope != null) {
+            scope.addChangedTables(tables);
+        } else {
+            onTablesChanged(tables);
+        }
+    }
+
+    /**
+     * Informing the tables have been written through this DBOverseer, by default, dropping the
+     * cached counts, the prefetched pages, the cached results and the identity maps which depended
+     * on them, also re-running the observed queries which depended on them. Called after the changes were committed.
+     * <p/>
+     * Implementations could overwrite this method to be notified about the changes, but make sure
+     * to call the super method.
+     *
+     * @param tables the changed tables in lower case, null indicates unknown, e.g. performing a "PRAGMA" SQL.
+     */
+    protected void onTablesChanged(Set<String> tables) {
+        CountCache countCache = mCountCache;
+        if (countCache != null) countCache.invalidate(tables);
+
+        QueryCache<Future<PaginationList<?>>> pageCache = mPageCache;
+        if (pageCache != null) pageCache.invalidate(tables);
+
+        QueryCache<Object> resultCache = mResultCache;
+        if (resultCache != null) resultCache.invalidate(tables);
+
+        SingleFlight singleFlight = mSingleFlight;
+        if (singleFlight != null) singleFlight.invalidate(tables);
+
+        synchronized (mIdentityMaps) {
+            for (IdentityMap identityMap : mIdentityMaps) {
+                identityMap.invalidate(tables);
+            }
+        }
+
+        for (QueryObserver<?> observer : mObservers) {
+            observer.onTablesChanged(tables);
+        }
+    }
+
+    /**
+     * Taking the bind arguments of the SQL, only the {@link Statement} could carrying them.
+     *
+     * @param sql the SQL statement.
+     * @return the bind arguments, or null if without any.
+     */
+    protected static Object[] getBindArgs(Object sql) {
+        return sql instanceof Statement ? ((Statement) sql).getBindArgs() : null;
+    }
+
+    /**
+     * {@link SQLiteDatabase#rawQuery(String, String[])} only accepted String arguments, which would break the
+     * comparison to those expressions have no column affinity such as "count(*) > ?". This factory binds
+     * each argument by its own type to the query before the Cursor executing it.
+     */
+    private static class BindArgsCursorFactory implements SQLiteDatabase.CursorFactory {
+        private final Object[] mArgs;
+
+        BindArgsCursorFactory(Object[] args) {
+            mArgs = args;
+        }
+
+        @Override
+        public Cursor newCursor(SQLiteDatabase db, SQLiteCursorDriver masterQuery, String editTable, SQLiteQuery query) {
+            for (int i = 0; i < mArgs.length; i++) {
+                DatabaseUtils.bindObjectToProgram(query, i + 1, mArgs[i]);
+            }
+            return new SQLiteCursor(masterQuery, editTable, query);
+        }
     }
 
     /**
@@ -541,7 +2852,60 @@ public class DBOverseer {
      * @param sql the SQL to be perform.
      */
     protected void debugSql(Object sql) {
-        if (mIsDebug) Log.d(TAG, String.format("Performing: %s", sql));
+        if (!mIsDebug) return;
+        Object[] args = getBindArgs(sql);
+        if (args != null && args.length > 0) {
+            Log.d(TAG, String.format("Performing: %s with %s", sql, Arrays.toString(args)));
+        } else {
+            Log.d(TAG, String.format("Performing: %s", sql));
+        }
+    }
+
+    /**
+     * Enable caching the compiled statements of {@link #executeInsert(Object)} and {@link #executeSql(Object)}
+     * to skip the compilation of those repeatedly performing SQLs, especially the binding mode statements.
+     * <p/>
+     * <strong>Note:</strong> The compiled statements belong to the connection,
+     * they would be discarded once the connection closed by {@link #shutdown()}.
+     *
+     * @param maxSize the maximum number of statements to caching, zero to disable.
+     * @see StatementCache
+     */
+    public synchronized void setStatementCacheSize(int maxSize) {
+        if (mStatementCache != null) mStatementCache.evictAll();
+        mStatementCache = maxSize > 0 ? new StatementCache(maxSize) : null;
+    }
+
+    /**
+     * Enable caching the row counts of the pagination and {@link #getRowCount(Statement)}, the cached counts
+     * would be dropped once the tables they depended on were written through this DBOverseer.
+     * <p/>
+     * <strong>Note:</strong> The writes performing directly on the {@link SQLiteDatabase} can't be tracked,
+     * don't enable this if there are any.
+     *
+     * @param maxSize the maximum number of counts to caching, zero to disable.
+     * @see CountCache
+     */
+    public synchronized void setCountCacheSize(int maxSize) {
+        mCountCache = maxSize > 0 ? new CountCache(maxSize) : null;
+    }
+
+    /**
+     * Return the cache of row counts to checking its hit/miss/invalidation counters.
+     *
+     * @return the cache, or null if disabled.
+     */
+    public CountCache getCountCache() {
+        return mCountCache;
+    }
+
+    /**
+     * Return the cache of compiled statements to checking its hit/miss/eviction counters.
+     *
+     * @return the cache, or null if disabled.
+     */
+    public StatementCache getStatementCache() {
+        return mStatementCache;
     }
 
     /**
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import android.database.Cursor;
+import android.util.Log;
+
+import java.lang.reflect.Method;
+
+/**
+ * A mapping plan from a particular column layout of {@link Cursor} to an entity class, which resolved the setter
+ * method and the parameter type of each column only once. Mapping rows via this plan just instancing the entity
+ * and invoking the resolved setters directly, without any method lookup or column name translation.
+ *
+ * @param <T> the generic entity which represent one row.
+ * @see com.vincestyling.asqliteplus.DBOverseer#getEntity(android.database.Cursor, Class)
+ */
+final class EntityMapping<T> implements RowMapper<T> {
+    private static final int TYPE_NONE = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_INT = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_FLOAT = 5;
+    private static final int TYPE_DOUBLE = 6;
+    private static final int TYPE_BLOB = 7;
+
+    private final Class<T> mClazz;
+
+    /**
+     * The setter and its parameter type of each column, indexing by the column index.
+     */
+    private final Method[] mSetters;
+    private final int[] mTypes;
+
+    /**
+     * Resolving the plan by searching for a method named "set[TranslatedColumnName]" of each column.
+     *
+     * @param clazz           the row's entity class.
+     * @param columnNames     the column names of the Cursor.
+     * @param translatedNames the translated column names, see {@link DBOverseer#translateColumnName(String)}.
+     */
+    EntityMapping(Class<T> clazz, String[] columnNames, String[] translatedNames) {
+        mClazz = clazz;
+        mSetters = new Method[columnNames.length];
+        mTypes = new int[columnNames.length];
+
+        Method[] methods = clazz.getMethods();
+        for (int index = 0; index < columnNames.length; index++) {
+            String setterName = DBOverseer.METHOD_PREFIX + translatedNames[index];
+
+            // picking the first matched method by name(case-insensitive).
+            for (Method method : methods) {
+                if (method.getName().equalsIgnoreCase(setterName)) {
+                    Class[] paramTypes = method.getParameterTypes();
+                    if (paramTypes.length == 1) {
+                        mTypes[index] = resolveType(paramTypes[0]);
+                        if (mTypes[index] != TYPE_NONE) mSetters[index] = method;
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    private static int resolveType(Class paramType) {
+        if (paramType == String.class) return TYPE_STRING;
+        if (paramType == int.class) return TYPE_INT;
+        if (paramType == short.class) return TYPE_SHORT;
+        if (paramType == long.class) return TYPE_LONG;
+        if (paramType == float.class) return TYPE_FLOAT;
+        if (paramType == double.class) return TYPE_DOUBLE;
+        if (paramType == byte[].class) return TYPE_BLOB;
+        return TYPE_NONE;
+    }
+
+    @Override
+    public T mapRow(Cursor cursor) {
+        try {
+            // instancing the generic entity.
+            T entity = mClazz.newInstance();
+
+            // invoke the proper getter method of Cursor to putting the value in.
+            for (int index = 0; index < mSetters.length; index++) {
+                Method setter = mSetters[index];
+                switch (mTypes[index]) {
+                    case TYPE_STRING:
+                        setter.invoke(entity, cursor.getString(index));
+                        break;
+                    case TYPE_INT:
+                        setter.invoke(entity, cursor.getInt(index));
+                        break;
+                    case TYPE_SHORT:
+                        setter.invoke(entity, cursor.getShort(index));
+                        break;
+                    case TYPE_LONG:
+                        setter.invoke(entity, cursor.getLong(index));
+                        break;
+                    case TYPE_FLOAT:
+                        setter.invoke(entity, cursor.getFloat(index));
+                        break;
+                    case TYPE_DOUBLE:
+                        setter.invoke(entity, cursor.getDouble(index));
+                        break;
+                    case TYPE_BLOB:
+                        setter.invoke(entity, cursor.getBlob(index));
+                        break;
+                }
+            }
+            return entity;
+        } catch (Exception e) {
+            Log.e(DBOverseer.TAG, e.getMessage(), e);
+        }
+        return null;
+    }
+}
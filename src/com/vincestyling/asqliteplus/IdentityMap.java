@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holding the mapped entities by their classes and primary keys, which make the same row always mapped to the same
+ * instance, e.g. the Category of every Product row in a joined query. Scoping it to a query by creating one per
+ * query, or to a session by keeping and sharing one across queries, and {@link #clear()} it once the session ends.
+ * <p/>
+ * Reusing an instance means the mapping of a row which already held would be skipped, those columns of the later
+ * rows wouldn't be reflected to the held instance.
+ * <p/>
+ * The map remembers which tables its entities were selected from, the DBOverseer which performed those queries
+ * clearing it as soon as any of the tables been written through it, so a session map never returns an entity
+ * older than the latest write. The writes which bypassed the DBOverseer couldn't be observed, {@link #clear()}
+ * it manually after that. The entities are held strongly until cleared, don't keeping a session map longer
+ * than the session.
+ *
+ * @see IdentityRowMapper
+ * @see com.vincestyling.asqliteplus.DBOverseer#getList(Object, Class, IdentityMap, String)
+ */
+public class IdentityMap {
+    private final Map<Class<?>, Map<Object, Object>> mEntities = new HashMap<Class<?>, Map<Object, Object>>();
+    private int mSize;
+
+    private final Set<String> mTables = new HashSet<String>();
+    private boolean mAnyTable;
+
+    private int mHitCount;
+    private int mMissCount;
+    private int mInvalidationCount;
+
+    /**
+     * @param clazz the entity class.
+     * @param key   the primary key.
+     * @param <T>   the entity type.
+     * @return the held entity, or null if absent.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T get(Class<T> clazz, Object key) {
+        Map<Object, Object> entities = mEntities.get(clazz);
+        T entity = entities != null ? (T) entities.get(key) : null;
+        if (entity != null) {
+            mHitCount++;
+        } else {
+            mMissCount++;
+        }
+        return entity;
+    }
+
+    /**
+     * Holding the entity if absent, otherwise return the held one instead.
+     *
+     * @param clazz  the entity class.
+     * @param key    the primary key.
+     * @param entity the entity to holding.
+     * @param <T>    the entity type.
+     * @return the held entity which is the same (class, key), or the given entity if it was absent.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T intern(Class<T> clazz, Object key, T entity) {
+        Map<Object, Object> entities = mEntities.get(clazz);
+        if (entities == null) {
+            entities = new HashMap<Object, Object>();
+            mEntities.put(clazz, entities);
+        }
+
+        Object held = entities.get(key);
+        if (held != null) return (T) held;
+
+        entities.put(key, entity);
+        mSize++;
+        return entity;
+    }
+
+    public synchronized void clear() {
+        mEntities.clear();
+        mSize = 0;
+        mTables.clear();
+        mAnyTable = false;
+    }
+
+    /**
+     * Recording the tables which the holding entities were selected from.
+     *
+     * @param tables the tables in lower case, null indicates unknown thus any write would clear this map.
+     * @see DBOverseer#trackIdentityMap(IdentityMap, Object)
+     */
+    public synchronized void dependOn(Set<String> tables) {
+        if (tables == null) {
+            mAnyTable = true;
+        } else {
+            mTables.addAll(tables);
+        }
+    }
+
+    /**
+     * Clearing this map if it depended on any of the changed tables.
+     *
+     * @param tables the changed tables in lower case, null indicates unknown.
+     * @return true if this map was cleared.
+     */
+    public synchronized boolean invalidate(Set<String> tables) {
+        if (mSize == 0) return false;
+        if (tables != null && !mAnyTable && Collections.disjoint(mTables, tables)) return false;
+
+        clear();
+        mInvalidationCount++;
+        return true;
+    }
+
+    /**
+     * @return how many entities are holding.
+     */
+    public synchronized int size() {
+        return mSize;
+    }
+
+    public synchronized int hitCount() {
+        return mHitCount;
+    }
+
+    public synchronized int missCount() {
+        return mMissCount;
+    }
+
+    /**
+     * @return how many times this map was cleared by the table writes.
+     */
+    public synchronized int invalidationCount() {
+        return mInvalidationCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("IdentityMap[size=%d,hits=%d,misses=%d,invalidations=%d]",
+                mSize, mHitCount, mMissCount, mInvalidationCount);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import android.database.Cursor;
+
+/**
+ * A {@link RowMapper} decorator which looking up the {@link IdentityMap} by the primary key column before mapping,
+ * return the held entity if present, which saves the mapping and the allocation of those repeated rows. Works with
+ * the generated, reflection or custom RowMappers, also usable inside a custom RowMapper to mapping the joined
+ * entities, e.g. the Category columns of a Products-Categories join.
+ * <p/>
+ * The rows which their primary key is NULL or a BLOB would be mapped as usual without identity.
+ * <p/>
+ * The column index is resolved for the latest mapping Cursor, so an instance shouldn't be shared between threads.
+ * <p/>
+ * When keeping the identity map across queries, call {@link DBOverseer#trackIdentityMap(IdentityMap, Object)}
+ * for each query, otherwise the map wouldn't be cleared after the writes and returning the stale entities.
+ * Creating one map per query if it doesn't need to outlive the query.
+ *
+ * @param <T> the mapped entity.
+ */
+public class IdentityRowMapper<T> implements RowMapper<T> {
+    private final IdentityMap mIdentityMap;
+    private final Class<T> mClass;
+    private final String mKeyColumn;
+    private final RowMapper<T> mMapper;
+
+    private Cursor mCursor;
+    private int mKeyIndex;
+
+    /**
+     * @param identityMap the identity map to looking up and holding the entities.
+     * @param clazz       the entity class.
+     * @param keyColumn   the name of primary key column in the Cursor.
+     * @param mapper      the mapper which mapping the absent rows.
+     */
+    public IdentityRowMapper(IdentityMap identityMap, Class<T> clazz, String keyColumn, RowMapper<T> mapper) {
+        mIdentityMap = identityMap;
+        mClass = clazz;
+        mKeyColumn = keyColumn;
+        mMapper = mapper;
+    }
+
+    @Override
+    public T mapRow(Cursor cursor) {
+        if (mCursor != cursor) {
+            mKeyIndex = cursor.getColumnIndexOrThrow(mKeyColumn);
+            mCursor = cursor;
+        }
+
+        Object key = DBOverseer.getColumnValue(cursor, mKeyIndex);
+        if (key == null || key instanceof byte[]) return mMapper.mapRow(cursor);
+
+        T entity = mIdentityMap.get(mClass, key);
+        if (entity != null) return entity;
+        return mIdentityMap.intern(mClass, key, mMapper.mapRow(cursor));
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+/**
+ * The strategies of {@link DBOverseer#getPaginationList} to determining the total item count.
+ *
+ * @see DBOverseer#setPaginationStrategy(PaginationStrategy)
+ */
+public enum PaginationStrategy {
+    /**
+     * Performing a counting query before fetching the page, e.g. "SELECT count(*) FROM tbl",
+     * works with every SQLite version.
+     */
+    COUNT_QUERY,
+
+    /**
+     * Appending a "count(*) OVER ()" window column to the page query, e.g. "SELECT *, count(*) OVER () FROM tbl
+     * LIMIT 10 OFFSET 20", then reading the total from the first row, which saves the counting query.
+     * The window functions requires SQLite 3.25.0 or higher(Android 11).
+     * <p/>
+     * <strong>Note:</strong> The statement with DISTINCT, LIMIT||OFFSET or compound clause would
+     * fallback to {@link #COUNT_QUERY}, and so does the page which beyond the last page.
+     */
+    WINDOW_FUNCTION,
+
+    /**
+     * Choosing {@link #WINDOW_FUNCTION} if the SQLite supports it, otherwise {@link #COUNT_QUERY}.
+     */
+    AUTO
+}
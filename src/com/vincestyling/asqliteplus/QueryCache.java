@@ -0,0 +1,249 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A bounded LRU cache of the query results keyed by the SQL text and its bind arguments. Each result
+ * remembering the tables it depended on, and would be dropped once any of them was written through
+ * the {@link DBOverseer}, see {@link DBOverseer#onTablesChanged(java.util.Set)}.
+ * <p/>
+ * To prevent caching a result which computed before a concurrent write but put after that, the caller should
+ * take the {@link #getGeneration()} before querying, then pass it to {@link #put}, the result would be
+ * discarded if any invalidation happened in between.
+ *
+ * @param <V> the type of the cached results.
+ */
+public class QueryCache<V> {
+    private final int mMaxSize;
+    private final LinkedHashMap<String, CacheEntry<V>> mEntries;
+
+    /**
+     * Increasing on every invalidation.
+     */
+    private long mGeneration;
+
+    /**
+     * The total estimated size of the holding results in bytes.
+     */
+    private long mMemorySize;
+
+    private int mHitCount;
+    private int mMissCount;
+    private int mInvalidationCount;
+
+    /**
+     * @param maxSize the maximum number of results to holding.
+     */
+    public QueryCache(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+        mMaxSize = maxSize;
+
+        // use the access-order to evicting the least recently used result.
+        mEntries = new LinkedHashMap<String, CacheEntry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry<V>> eldest) {
+                if (size() <= mMaxSize) return false;
+                mMemorySize -= eldest.getValue().size;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Building the cache key of the SQL, which consist of the SQL text and its bind arguments. Each argument is
+     * keyed along with its class, because SQLite comparing the values of different types differently, e.g.
+     * the INTEGER 1 and the TEXT '1' may select different rows, also prefixed by its length to preventing
+     * a String argument which contains the separator looks like two arguments.
+     *
+     * @param sql the SQL.
+     * @return the cache key.
+     */
+    public static String buildKey(Object sql) {
+        Object[] args = DBOverseer.getBindArgs(sql);
+        if (args == null || args.length == 0) return sql.toString();
+
+        StringBuilder key = new StringBuilder(sql.toString());
+        for (Object arg : args) {
+            key.append('|');
+            if (arg == null) {
+                key.append("null");
+                continue;
+            }
+            String value = arg instanceof byte[] ? Arrays.toString((byte[]) arg) : arg.toString();
+            key.append(arg.getClass().getName()).append(':').append(value.length()).append(':').append(value);
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param key the cache key.
+     * @return the cached result, or null if it isn't cached.
+     */
+    public synchronized V get(String key) {
+        CacheEntry<V> entry = mEntries.get(key);
+        if (entry != null) {
+            mHitCount++;
+            return entry.value;
+        }
+        mMissCount++;
+        return null;
+    }
+
+    /**
+     * Checking whether the result is cached, without counting as a hit or miss.
+     *
+     * @param key the cache key.
+     * @return true if the result is cached.
+     */
+    public synchronized boolean contains(String key) {
+        return mEntries.containsKey(key);
+    }
+
+    /**
+     * Taking out the cached result, which removes it from this cache.
+     *
+     * @param key the cache key.
+     * @return the cached result, or null if it isn't cached.
+     */
+    public synchronized V take(String key) {
+        CacheEntry<V> entry = mEntries.remove(key);
+        if (entry != null) {
+            mMemorySize -= entry.size;
+            mHitCount++;
+            return entry.value;
+        }
+        mMissCount++;
+        return null;
+    }
+
+    /**
+     * @param key        the cache key.
+     * @param tables     the tables which the result depended on, null indicates unknown.
+     * @param value      the result.
+     * @param generation the generation took before querying.
+     * @return true if the result was put, false if discarded because of an invalidation happened.
+     */
+    public boolean put(String key, Set<String> tables, V value, long generation) {
+        return put(key, tables, value, generation, 0);
+    }
+
+    /**
+     * @param key        the cache key.
+     * @param tables     the tables which the result depended on, null indicates unknown.
+     * @param value      the result.
+     * @param generation the generation took before querying.
+     * @param size       the estimated size of the result in bytes.
+     * @return true if the result was put, false if discarded because of an invalidation happened.
+     */
+    public synchronized boolean put(String key, Set<String> tables, V value, long generation, long size) {
+        if (generation != mGeneration) return false;
+        CacheEntry<V> previous = mEntries.remove(key);
+        if (previous != null) mMemorySize -= previous.size;
+
+        mMemorySize += size;
+        mEntries.put(key, new CacheEntry<V>(tables != null ? new HashSet<String>(tables) : null, value, size));
+        return true;
+    }
+
+    public synchronized long getGeneration() {
+        return mGeneration;
+    }
+
+    /**
+     * Dropping all the results which depended on any of the given tables.
+     *
+     * @param tables the changed tables in lower case, null indicates unknown that all results would be dropped.
+     */
+    public synchronized void invalidate(Set<String> tables) {
+        mGeneration++;
+        if (tables == null) {
+            mInvalidationCount += mEntries.size();
+            evictAll();
+            return;
+        }
+
+        Iterator<CacheEntry<V>> iterator = mEntries.values().iterator();
+        while (iterator.hasNext()) {
+            CacheEntry<V> entry = iterator.next();
+            if (entry.tables == null || !Collections.disjoint(entry.tables, tables)) {
+                iterator.remove();
+                mMemorySize -= entry.size;
+                mInvalidationCount++;
+            }
+        }
+    }
+
+    public synchronized void evictAll() {
+        mEntries.clear();
+        mMemorySize = 0;
+    }
+
+    public synchronized int size() {
+        return mEntries.size();
+    }
+
+    public int maxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * @return the total estimated size of the holding results in bytes, only counting those put with a size.
+     */
+    public synchronized long memorySize() {
+        return mMemorySize;
+    }
+
+    public synchronized int hitCount() {
+        return mHitCount;
+    }
+
+    public synchronized int missCount() {
+        return mMissCount;
+    }
+
+    public synchronized int invalidationCount() {
+        return mInvalidationCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        int accesses = mHitCount + mMissCount;
+        int hitPercent = accesses != 0 ? (100 * mHitCount / accesses) : 0;
+        return String.format("%s[maxSize=%d,size=%d,memory=%dB,hits=%d,misses=%d,invalidations=%d,hitRate=%d%%]",
+                getClass().getSimpleName(), mMaxSize, mEntries.size(), mMemorySize,
+                mHitCount, mMissCount, mInvalidationCount, hitPercent);
+    }
+
+    private static class CacheEntry<V> {
+        final Set<String> tables;
+        final V value;
+        final long size;
+
+        CacheEntry(Set<String> tables, V value, long size) {
+            this.tables = tables;
+            this.value = value;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An observed query which re-running on a background thread whenever any of its tables was written through the
+ * {@link DBOverseer}, then delivering the fresh result to the callback. The changes are debounced, the query
+ * would be re-run once the debounce delay elapsed since the first change, the changes in between are coalesced.
+ * <p/>
+ * The result is delivered in the thread which started the observing if that thread has a {@link Looper},
+ * e.g. the main thread, otherwise in the executing thread. Call {@link #cancel()} once done.
+ *
+ * @param <T> the result type of the query.
+ * @see com.vincestyling.asqliteplus.DBOverseer#observeList(Object, Class, long, DBCallback)
+ */
+public class QueryObserver<T> {
+    private static final String TAG = "QueryObserver";
+
+    private final DBOverseer mOverseer;
+    private final Set<String> mTables;
+    private final Callable<T> mQuery;
+    private final long mDebounceMillis;
+    private final DBCallback<T> mCallback;
+    private final Handler mHandler;
+
+    private final AtomicBoolean mPending = new AtomicBoolean();
+    private volatile boolean mCancelled;
+    private volatile int mRunCount;
+
+    /**
+     * @param overseer       the DBOverseer which performing the query.
+     * @param tables         the tables which the query depended on, null indicates unknown that any change would re-run it.
+     * @param query          the query.
+     * @param debounceMillis how long to waiting for more changes before re-running.
+     * @param callback       the receiver of the results.
+     */
+    QueryObserver(DBOverseer overseer, Set<String> tables, Callable<T> query, long debounceMillis, DBCallback<T> callback) {
+        mOverseer = overseer;
+        mTables = tables;
+        mQuery = query;
+        mDebounceMillis = debounceMillis;
+        mCallback = callback;
+
+        Looper looper = Looper.myLooper();
+        mHandler = looper != null ? new Handler(looper) : null;
+    }
+
+    /**
+     * @return the tables which the query depended on, null indicates unknown.
+     */
+    public Set<String> getTables() {
+        return mTables != null ? Collections.unmodifiableSet(mTables) : null;
+    }
+
+    /**
+     * Informing the tables have been written, scheduling the re-running if the query depended on any of them.
+     *
+     * @param tables the changed tables in lower case, null indicates unknown.
+     */
+    void onTablesChanged(Set<String> tables) {
+        if (mCancelled) return;
+        if (tables == null || mTables == null || !Collections.disjoint(mTables, tables)) {
+            schedule(mDebounceMillis);
+        }
+    }
+
+    /**
+     * Re-running the query right now regardless of the changes.
+     */
+    public void refresh() {
+        schedule(0);
+    }
+
+    private void schedule(long delayMillis) {
+        // coalescing the changes until the pending run started.
+        if (!mPending.compareAndSet(false, true)) return;
+        mOverseer.scheduleObserver(mRunTask, delayMillis);
+    }
+
+    private final Runnable mRunTask = new Runnable() {
+        @Override
+        public void run() {
+            // the changes from now on would schedule another run.
+            mPending.set(false);
+            if (mCancelled) return;
+
+            final T result;
+            try {
+                result = mQuery.call();
+                mRunCount++;
+            } catch (Exception e) {
+                Log.e(TAG, e.getMessage(), e);
+                return;
+            }
+
+            if (mHandler == null) {
+                if (!mCancelled) mCallback.onResult(result);
+                return;
+            }
+            mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!mCancelled) mCallback.onResult(result);
+                }
+            });
+        }
+    };
+
+    /**
+     * @return how many times the query was performed.
+     */
+    public int getRunCount() {
+        return mRunCount;
+    }
+
+    /**
+     * Stopping the observing, the callback wouldn't be called anymore.
+     */
+    public void cancel() {
+        mCancelled = true;
+        mOverseer.removeObserver(this);
+    }
+
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import java.util.Random;
+
+/**
+ * Specifying how {@link DBOverseer} retrying the operation which failed by the busy or locked database, i.e.
+ * another connection holding the lock longer than the busy timeout of the platform. The delay between attempts
+ * grows exponentially from the initial delay up to the maximum delay, with a random jitter to prevent those
+ * contending threads retrying at the same moment, until the deadline elapsed since the first attempt.
+ * <p/>
+ * It's also counting how many times the busy errors occurred and how long the callers waited for the lock.
+ *
+ * @see com.vincestyling.asqliteplus.DBOverseer#setRetryPolicy(RetryPolicy)
+ */
+public class RetryPolicy {
+    private final long mInitialDelay;
+    private final long mMaxDelay;
+    private final long mDeadline;
+    private final Random mRandom = new Random();
+
+    private int mBusyCount;
+    private int mRetryCount;
+    private int mGiveUpCount;
+    private long mWaitTime;
+    private long mMaxWaitTime;
+
+    /**
+     * @param initialDelayMillis the delay before the first retry.
+     * @param maxDelayMillis     the maximum delay between two attempts.
+     * @param deadlineMillis     giving up once this long elapsed since the first attempt.
+     */
+    public RetryPolicy(long initialDelayMillis, long maxDelayMillis, long deadlineMillis) {
+        if (initialDelayMillis <= 0) throw new IllegalArgumentException("initialDelayMillis <= 0");
+        if (maxDelayMillis < initialDelayMillis) throw new IllegalArgumentException("maxDelayMillis < initialDelayMillis");
+        if (deadlineMillis <= 0) throw new IllegalArgumentException("deadlineMillis <= 0");
+        mInitialDelay = initialDelayMillis;
+        mMaxDelay = maxDelayMillis;
+        mDeadline = deadlineMillis;
+    }
+
+    /**
+     * Computing the delay before the next attempt, which is a random value between the half and
+     * the whole of the exponential backoff, and never exceeding the deadline.
+     *
+     * @param attempt       how many retries have been performed.
+     * @param elapsedMillis the time elapsed since the first attempt.
+     * @return the delay in milliseconds, or -1 to giving up.
+     */
+    public long nextDelay(int attempt, long elapsedMillis) {
+        long remaining = mDeadline - elapsedMillis;
+        if (remaining <= 0) return -1;
+
+        long backoff = Math.min(mMaxDelay, mInitialDelay << Math.min(attempt, 30));
+        long half = backoff / 2;
+        long delay = half + (long) (mRandom.nextDouble() * (backoff - half + 1));
+        return Math.min(delay, remaining);
+    }
+
+    synchronized void onBusy() {
+        mBusyCount++;
+    }
+
+    synchronized void onRetry() {
+        mRetryCount++;
+    }
+
+    /**
+     * Recording how long a caller waited for the lock, called once the operation succeed or gave up.
+     *
+     * @param waitMillis the time elapsed since the first attempt began, include those blocked inside SQLite.
+     */
+    synchronized void onFinish(long waitMillis, boolean gaveUp) {
+        if (gaveUp) mGiveUpCount++;
+        mWaitTime += waitMillis;
+        if (waitMillis > mMaxWaitTime) mMaxWaitTime = waitMillis;
+    }
+
+    /**
+     * @return how many times the busy errors occurred.
+     */
+    public synchronized int busyCount() {
+        return mBusyCount;
+    }
+
+    /**
+     * @return how many times the operations were performed again after the delay.
+     */
+    public synchronized int retryCount() {
+        return mRetryCount;
+    }
+
+    /**
+     * @return how many operations failed because the deadline elapsed.
+     */
+    public synchronized int giveUpCount() {
+        return mGiveUpCount;
+    }
+
+    /**
+     * @return the total time in milliseconds which the callers waited for the lock, counting from the beginning
+     * of the first attempt, so the time blocked inside SQLite by the busy timeout is included.
+     */
+    public synchronized long waitTime() {
+        return mWaitTime;
+    }
+
+    /**
+     * @return the longest time in milliseconds which a single operation waited for the lock.
+     */
+    public synchronized long maxWaitTime() {
+        return mMaxWaitTime;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("RetryPolicy[busy=%d,retries=%d,giveUps=%d,waitTime=%dms,maxWaitTime=%dms]",
+                mBusyCount, mRetryCount, mGiveUpCount, mWaitTime, mMaxWaitTime);
+    }
+}
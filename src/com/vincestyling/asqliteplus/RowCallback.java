@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+/**
+ * An interface used for handling the mapped rows one by one while the query streaming through the
+ * {@link android.database.Cursor}, which never holding the whole resultset in memory.
+ *
+ * @param <T> the mapped entity.
+ * @see com.vincestyling.asqliteplus.DBOverseer#forEach(Object, RowMapper, RowCallback)
+ */
+public interface RowCallback<T> {
+    /**
+     * Handling the current row.
+     *
+     * @param row the mapped entity of the current row.
+     * @return true to continue with the next row, false to terminating the iteration.
+     */
+    boolean onRow(T row);
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import android.database.Cursor;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterator} which mapping the rows of a {@link Cursor} lazily, only one row being mapped on each
+ * {@link #next()} call, thus the memory is bounded to a single row no matter how large the resultset is.
+ * <p/>
+ * The laziness only covering the mapping, the platform SQLiteCursor counts the whole resultset when filling
+ * its first window, so the first {@link #hasNext()} call takes the time of stepping through every row.
+ * <p/>
+ * The underlying Cursor would be closed automatically once the iteration has finished, but the caller
+ * should always {@link #close()} it in a finally block in case of early termination.
+ *
+ * @param <T> the mapped entity.
+ * @see com.vincestyling.asqliteplus.DBOverseer#iterate(Object, RowMapper)
+ */
+public class RowIterator<T> implements Iterator<T>, Closeable {
+    private final Cursor mCursor;
+    private final RowMapper<T> mMapper;
+
+    /**
+     * Whether the Cursor has already moved to the row which the next() call would returning.
+     */
+    private boolean mMoved;
+    private boolean mHasNext;
+
+    RowIterator(Cursor cursor, RowMapper<T> mapper) {
+        mCursor = cursor;
+        mMapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!mMoved) {
+            mHasNext = mCursor != null && !mCursor.isClosed() && mCursor.moveToNext();
+            mMoved = true;
+            if (!mHasNext) close();
+        }
+        return mHasNext;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        mMoved = false;
+        return mMapper.mapRow(mCursor);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Closing the underlying Cursor, it's safe to call multiple times.
+     */
+    @Override
+    public void close() {
+        if (mCursor != null && !mCursor.isClosed()) mCursor.close();
+    }
+}
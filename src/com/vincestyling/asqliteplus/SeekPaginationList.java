@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+/**
+ * A {@link PaginationList} produced by the keyset pagination, which carrying the sort key values of
+ * the last row as the continuation token to fetching the next page. Because the keyset pagination
+ * never counting the rows, the total page count and item count aren't available.
+ *
+ * @param <T> The generic type for datasource.
+ * @see com.vincestyling.asqliteplus.DBOverseer#getSeekPaginationList
+ */
+public class SeekPaginationList<T> extends PaginationList<T> {
+    private Object[] lastKeys;
+    private boolean hasNextPage;
+
+    public SeekPaginationList(int pageItemCount) {
+        super(pageItemCount);
+        setPageItemCount(pageItemCount);
+    }
+
+    /**
+     * Return the sort key values of the last row in this page, passing them back
+     * to {@link DBOverseer#getSeekPaginationList} would fetching the next page.
+     *
+     * @return the key values in the same order of the key columns, or null if this page is empty.
+     */
+    public Object[] getLastKeys() {
+        return lastKeys;
+    }
+
+    public void setLastKeys(Object[] lastKeys) {
+        this.lastKeys = lastKeys;
+    }
+
+    public void setHasNextPage(boolean hasNextPage) {
+        this.hasNextPage = hasNextPage;
+    }
+
+    @Override
+    public boolean hasNextPage() {
+        return hasNextPage;
+    }
+}
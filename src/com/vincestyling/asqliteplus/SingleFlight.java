@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * De-duplicating the identical queries which performing concurrently, the first caller of a key becomes the leader
+ * to performing the query, the later callers arrived before it finished would wait for and share its result
+ * instead of opening another Cursor, e.g. several Fragments of one screen loading the same list at once.
+ * <p/>
+ * The shared {@link ArrayList}s and arrays are copied for each waiting caller, but the entities inside them, also
+ * the entity which shared as a whole, are the same instances, <strong>don't</strong> modifying them. A null result,
+ * e.g. no row found, is shared as well, only if the leading query threw, the waiting callers would re-performing
+ * the query by themselves.
+ * <p/>
+ * Once any of the tables which a running query depended on was written, that query is detached from its key,
+ * so the callers arriving after the write would never share a result which probably computed before it.
+ *
+ * @see DBOverseer#setSingleFlight(boolean)
+ */
+public class SingleFlight {
+    /**
+     * The result of a running or failed query, which can't be confused with any result including null.
+     */
+    private static final Object FAILED = new Object();
+
+    private final Map<String, Flight> mFlights = new HashMap<String, Flight>();
+
+    private int mExecutionCount;
+    private int mSharedCount;
+    private int mFailedCount;
+
+    /**
+     * Performing the query, or waiting for the identical one which is running to sharing its result.
+     *
+     * @param key    the key of the query, which consist of the SQL text and its bind arguments.
+     * @param tables the tables which the query depended on, null indicates unknown.
+     * @param query  the query to performing.
+     * @param <V>    the type of the result.
+     * @return the result of the query.
+     * @throws Exception if the query failed in the current thread.
+     * @see QueryCache#buildKey(Object)
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String key, Set<String> tables, Callable<V> query) throws Exception {
+        Flight flight;
+        boolean leader = false;
+        synchronized (this) {
+            flight = mFlights.get(key);
+            if (flight == null) {
+                flight = new Flight(tables != null ? new HashSet<String>(tables) : null);
+                mFlights.put(key, flight);
+                mExecutionCount++;
+                leader = true;
+            }
+        }
+
+        if (leader) {
+            try {
+                V result = query.call();
+                flight.result = result;
+                return result;
+            } finally {
+                synchronized (this) {
+                    // might already detached and replaced by a later flight.
+                    if (mFlights.get(key) == flight) mFlights.remove(key);
+                }
+                flight.latch.countDown();
+            }
+        }
+
+        try {
+            flight.latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return query.call();
+        }
+
+        Object result = flight.result;
+        if (result == FAILED) {
+            synchronized (this) {
+                mFailedCount++;
+            }
+            return query.call();
+        }
+
+        synchronized (this) {
+            mSharedCount++;
+        }
+        return (V) copy(result);
+    }
+
+    /**
+     * Copying the containers of result to preventing the callers affecting each other.
+     */
+    private static Object copy(Object result) {
+        if (result instanceof ArrayList) return new ArrayList<Object>((ArrayList<?>) result);
+        if (result instanceof int[]) return ((int[]) result).clone();
+        if (result instanceof long[]) return ((long[]) result).clone();
+        if (result instanceof double[]) return ((double[]) result).clone();
+        if (result instanceof Object[]) return ((Object[]) result).clone();
+        return result;
+    }
+
+    /**
+     * Detaching the running queries which depended on any of the given tables, the later callers would performing
+     * a new query instead of joining them. The callers already waiting are still sharing their results.
+     *
+     * @param tables the changed tables in lower case, null indicates unknown that all queries would be detached.
+     */
+    public synchronized void invalidate(Set<String> tables) {
+        if (tables == null) {
+            mFlights.clear();
+            return;
+        }
+
+        Iterator<Flight> iterator = mFlights.values().iterator();
+        while (iterator.hasNext()) {
+            Flight flight = iterator.next();
+            if (flight.tables == null || !Collections.disjoint(flight.tables, tables)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return how many queries are running.
+     */
+    public synchronized int size() {
+        return mFlights.size();
+    }
+
+    /**
+     * @return how many queries have been performed by the leading callers.
+     */
+    public synchronized int executionCount() {
+        return mExecutionCount;
+    }
+
+    /**
+     * @return how many executions have been saved, which is the count of callers took a shared result.
+     */
+    public synchronized int sharedCount() {
+        return mSharedCount;
+    }
+
+    /**
+     * @return how many waiting callers have been re-performing the query because of the leading query threw.
+     */
+    public synchronized int failedCount() {
+        return mFailedCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        int requests = mExecutionCount + mSharedCount;
+        int savedPercent = requests != 0 ? (100 * mSharedCount / requests) : 0;
+        return String.format("SingleFlight[executions=%d,shared=%d,failed=%d,savedRate=%d%%]",
+                mExecutionCount, mSharedCount, mFailedCount, savedPercent);
+    }
+
+    /**
+     * A running query which the later callers waiting for.
+     */
+    private static class Flight {
+        final Set<String> tables;
+        final CountDownLatch latch = new CountDownLatch(1);
+        volatile Object result = FAILED;
+
+        Flight(Set<String> tables) {
+            this.tables = tables;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded LRU cache of compiled {@link SQLiteStatement}s keyed by their SQL text, which make those hot
+ * INSERT||UPDATE||DELETE statements able to skip the compilation. Works best with the binding mode
+ * statements because they have the same SQL text whatever values they carried.
+ * <p/>
+ * A compiled statement belongs to the connection that compiled it, hence this cache is bound to a single
+ * {@link SQLiteDatabase}, all the holding statements would be evicted once a different one presented.
+ * <p/>
+ * Because a {@link SQLiteStatement} can't be sharing between threads, the caller should {@link #acquire}
+ * a statement, which removes it from this cache, then {@link #release} it back after executed.
+ *
+ * @see com.vincestyling.asqliteplus.DBOverseer#setStatementCacheSize(int)
+ */
+public class StatementCache {
+    private final int mMaxSize;
+    private final LinkedHashMap<String, SQLiteStatement> mStatements;
+
+    /**
+     * The connection which all the holding statements compiled by.
+     */
+    private SQLiteDatabase mDataBase;
+
+    private int mHitCount;
+    private int mMissCount;
+    private int mEvictionCount;
+
+    /**
+     * @param maxSize the maximum number of statements to holding.
+     */
+    public StatementCache(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+        mMaxSize = maxSize;
+
+        // use the access-order to evicting the least recently used statement.
+        mStatements = new LinkedHashMap<String, SQLiteStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SQLiteStatement> eldest) {
+                if (size() <= mMaxSize) return false;
+                eldest.getValue().close();
+                mEvictionCount++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Taking out the statement which compiled by the SQL, the caller has exclusive use of it until released.
+     *
+     * @param dataBase the connection to performing the statement.
+     * @param sql      the SQL text.
+     * @return the compiled statement, or null if it isn't cached.
+     */
+    public synchronized SQLiteStatement acquire(SQLiteDatabase dataBase, String sql) {
+        if (mDataBase != dataBase) {
+            evictAll();
+            mDataBase = dataBase;
+        }
+
+        SQLiteStatement statement = mStatements.remove(sql);
+        if (statement != null) {
+            mHitCount++;
+        } else {
+            mMissCount++;
+        }
+        return statement;
+    }
+
+    /**
+     * Putting the statement back to make it reusable, the statement would be closed
+     * instead if it was compiled by another connection or the connection was closed.
+     *
+     * @param dataBase  the connection which the statement compiled by.
+     * @param sql       the SQL text.
+     * @param statement the compiled statement.
+     */
+    public synchronized void release(SQLiteDatabase dataBase, String sql, SQLiteStatement statement) {
+        if (dataBase != mDataBase || !dataBase.isOpen()) {
+            statement.close();
+            return;
+        }
+
+        statement.clearBindings();
+        SQLiteStatement previous = mStatements.put(sql, statement);
+        if (previous != null && previous != statement) previous.close();
+    }
+
+    /**
+     * Closing and clearing all the holding statements.
+     */
+    public synchronized void evictAll() {
+        for (SQLiteStatement statement : mStatements.values()) {
+            statement.close();
+        }
+        mStatements.clear();
+    }
+
+    public synchronized int size() {
+        return mStatements.size();
+    }
+
+    public int maxSize() {
+        return mMaxSize;
+    }
+
+    public synchronized int hitCount() {
+        return mHitCount;
+    }
+
+    public synchronized int missCount() {
+        return mMissCount;
+    }
+
+    public synchronized int evictionCount() {
+        return mEvictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        int accesses = mHitCount + mMissCount;
+        int hitPercent = accesses != 0 ? (100 * mHitCount / accesses) : 0;
+        return String.format("StatementCache[maxSize=%d,hits=%d,misses=%d,evictions=%d,hitRate=%d%%]",
+                mMaxSize, mHitCount, mMissCount, mEvictionCount, hitPercent);
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+/**
+ * An interface used for performing the operations inside a transaction scope.
+ *
+ * @param <T> the result type of the transaction.
+ * @see com.vincestyling.asqliteplus.DBOverseer#inTransaction(TransactionCallback)
+ */
+public interface TransactionCallback<T> {
+    /**
+     * Performing the operations, all of them which called through the given DBOverseer in the current thread
+     * would be inside the transaction. Throwing any exception to rolling back the transaction.
+     *
+     * @param overseer the DBOverseer which bound to the transaction in the current thread.
+     * @return the result of the transaction.
+     * @throws Exception to rolling back.
+     */
+    T perform(DBOverseer overseer) throws Exception;
+}
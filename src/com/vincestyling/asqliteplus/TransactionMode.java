@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus;
+
+/**
+ * The modes of {@link DBOverseer#inTransaction(TransactionMode, TransactionCallback)} to beginning the transaction.
+ */
+public enum TransactionMode {
+    /**
+     * "BEGIN EXCLUSIVE", no other connection could reading or writing the database until the transaction ends,
+     * except the readers of write-ahead logging.
+     */
+    EXCLUSIVE,
+
+    /**
+     * "BEGIN IMMEDIATE", no other connection could writing the database until the transaction
+     * ends, but they still able to reading. Requiring API 11, otherwise be treated as {@link #EXCLUSIVE}.
+     */
+    IMMEDIATE
+}
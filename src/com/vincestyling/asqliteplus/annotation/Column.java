@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifying how a field of the {@link Entity} mapped to the column.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface Column {
+    /**
+     * The name of the column, leave it empty to translating from the field name.
+     */
+    String value() default "";
+
+    /**
+     * true indicates this column is the primary key, which used as the term of generated UPDATE.
+     */
+    boolean primaryKey() default false;
+
+    /**
+     * true indicates this column is an auto increment INTEGER primary key,
+     * which would be omitted from the generated INSERT to let SQLite assigning it.
+     */
+    boolean autoIncrement() default false;
+
+    /**
+     * true indicates this field is not a column, it would be ignored by the annotation processor.
+     */
+    boolean ignore() default false;
+}
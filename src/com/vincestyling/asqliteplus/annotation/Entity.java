@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marking a class as an entity which represent one row of the table, the aSQLite+ annotation processor would
+ * generating the following classes for it at compile time, beside the entity class in the same package :
+ * <p/>
+ * [Entity]_RowMapper, a {@link com.vincestyling.asqliteplus.RowMapper} which resolving the column indexes once
+ * per Cursor and invoking the setter methods directly, without any reflection.
+ * <p/>
+ * [Entity]_InsertOperator, both a {@link com.vincestyling.asqliteplus.DBOperator} and a
+ * {@link com.vincestyling.asqliteplus.DBBinder} to performing the INSERT of entities.
+ * <p/>
+ * [Entity]_UpdateOperator, same as the InsertOperator but performing the UPDATE by the primary key,
+ * only generated if a primary key and any other column were declared by {@link Column#primaryKey()}.
+ * <p/>
+ * Because the operators implemented both interfaces, declare the variable with the expected interface
+ * before passing it to {@link com.vincestyling.asqliteplus.DBOverseer#executeBatch(java.util.List, com.vincestyling.asqliteplus.DBBinder)}.
+ * <p/>
+ * Every non-static field with both setter and getter methods would be mapped as a column, the field name
+ * would be translating to the column name by separating each word with underline(_), such as "loginTime"
+ * to "login_time", a run of capitals is taken as one word such as "productID" to "product_id", or specifying
+ * that by the {@link Column} annotation.
+ * <p/>
+ * Supported field types are String, int, short, long, float, double, boolean and byte[].
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Entity {
+    /**
+     * The name of the table, leave it empty to take the simple name of the entity class.
+     */
+    String table() default "";
+}
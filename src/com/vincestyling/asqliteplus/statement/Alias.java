@@ -15,8 +15,6 @@
  */
 package com.vincestyling.asqliteplus.statement;
 
-import static java.lang.String.format;
-
 /**
  * This class used to producing an ALIAS clause which temporary renaming the
  * object(could be table||column||function) as a given name in a particular SQL statement.
@@ -53,6 +51,15 @@ public class Alias {
         this.alias = alias;
     }
 
+    /**
+     * Return the object to be renaming.
+     *
+     * @return The object to be renaming.
+     */
+    Object getObject() {
+        return object;
+    }
+
     /**
      * Return the object's alias.
      *
@@ -62,6 +69,16 @@ public class Alias {
         return alias;
     }
 
+    /**
+     * Rendering the ALIAS clause into the statement directly, without creating an intermediate String.
+     *
+     * @param statement the StringBuilder that the clause will be appended to.
+     */
+    void appendTo(StringBuilder statement) {
+        ClauseAppender.append(statement, object);
+        statement.append(" AS ").append(alias);
+    }
+
     /**
      * Taking the final ALIAS clause via this method.
      *
@@ -69,6 +86,6 @@ public class Alias {
      */
     @Override
     public String toString() {
-        return format("%s AS %s", object, alias);
+        return ClauseAppender.concat(object, " AS ", alias);
     }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.statement;
+
+/**
+ * The shared appender which rendering those small clauses such as {@link Function}, {@link Scoping} and
+ * {@link Alias}, instead of the {@link String#format} which parsing the pattern and allocating a Formatter
+ * and its buffers every time. Each thread reusing its own StringBuilder, and the nested clauses are appended
+ * straight into it rather than rendered as Strings at first, hence concatenating the parts only allocates
+ * the final String.
+ */
+final class ClauseAppender {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The builder grown beyond this capacity would be dropped after used, prevent holding a huge buffer.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+
+    private static final ThreadLocal<StringBuilder> BUILDERS = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(INITIAL_CAPACITY);
+        }
+    };
+
+    private ClauseAppender() {
+    }
+
+    /**
+     * Concatenating the parts as a clause, each part would be appended by {@link #append(StringBuilder, Object)}.
+     *
+     * @param first  the first part.
+     * @param second the second part.
+     * @param third  the third part.
+     * @return the concatenated clause.
+     */
+    static String concat(Object first, Object second, Object third) {
+        // taking the builder away while using, a part which rendered through this appender
+        // as well in its toString() would be using a temporary one instead of overwriting it.
+        StringBuilder builder = BUILDERS.get();
+        if (builder == null) {
+            builder = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            BUILDERS.set(null);
+            builder.setLength(0);
+        }
+
+        append(builder, first);
+        append(builder, second);
+        append(builder, third);
+        String clause = builder.toString();
+
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            BUILDERS.remove();
+        } else {
+            BUILDERS.set(builder);
+        }
+        return clause;
+    }
+
+    /**
+     * Concatenating the parts as a clause, each part would be appended by {@link #append(StringBuilder, Object)}.
+     *
+     * @param first  the first part.
+     * @param second the second part.
+     * @return the concatenated clause.
+     */
+    static String concat(Object first, Object second) {
+        return concat(first, second, "");
+    }
+
+    /**
+     * Appending a part of clause without the intermediate String, the {@link CharSequence}s are appended
+     * as they are, the {@link Alias}, {@link Function} and {@link ClauseWrapper} appending their holding
+     * clauses by themselves, other objects are converted by {@link String#valueOf(Object)}.
+     *
+     * @param builder the StringBuilder that the part will be appended to.
+     * @param part    the part, null would be appended as "null".
+     */
+    static void append(StringBuilder builder, Object part) {
+        if (part instanceof CharSequence) {
+            builder.append((CharSequence) part);
+        } else if (part instanceof Alias) {
+            ((Alias) part).appendTo(builder);
+        } else if (part instanceof Function) {
+            ((Function) part).appendTo(builder);
+        } else if (part instanceof ClauseWrapper) {
+            ((ClauseWrapper) part).appendTo(builder);
+        } else {
+            builder.append(String.valueOf(part));
+        }
+    }
+}
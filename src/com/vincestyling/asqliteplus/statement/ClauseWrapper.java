@@ -15,6 +15,8 @@
  */
 package com.vincestyling.asqliteplus.statement;
 
+import java.util.Set;
+
 /**
  * A base class for implementations which served a clause. {@link Statement}
  * would calls the {@link #toString()} method to take the holding clause.
@@ -25,6 +27,45 @@ public abstract class ClauseWrapper {
      */
     protected String clause;
 
+    /**
+     * The bind arguments which carried by the wrapped sub-query, could be null.
+     */
+    protected Object[] bindArgs;
+
+    /**
+     * Return the bind arguments to the "?" placeholders presenting in the holding clause.
+     *
+     * @return the bind arguments, or null if the holding clause without any.
+     * @see Statement#getBindArgs()
+     */
+    public Object[] getBindArgs() {
+        return bindArgs;
+    }
+
+    /**
+     * The names of the tables which referenced by the wrapped sub-query, could be null.
+     */
+    protected Set<String> tables;
+
+    /**
+     * Return the names of the tables which referenced by the holding clause.
+     *
+     * @return the table names, or null if the holding clause without any.
+     * @see Statement#getTables()
+     */
+    public Set<String> getTables() {
+        return tables;
+    }
+
+    /**
+     * Rendering the holding clause into the statement directly, without creating an intermediate String.
+     *
+     * @param statement the StringBuilder that the clause will be appended to.
+     */
+    void appendTo(StringBuilder statement) {
+        statement.append(clause);
+    }
+
     /**
      * Taking the holding clause via this method.
      *
@@ -15,6 +15,10 @@
  */
 package com.vincestyling.asqliteplus.statement;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
 /**
  * A statement producer that use to producing <b>INSERT</b> command of SQL language. The completed SQL
  * statement would be sent to {@link android.database.sqlite.SQLiteDatabase} objects to execute.
@@ -22,6 +26,25 @@ package com.vincestyling.asqliteplus.statement;
  * @see com.vincestyling.asqliteplus.DBOverseer
  */
 public class CreateStatement extends Statement {
+    /**
+     * The maximum number of "?" placeholders in a single statement, the SQLITE_MAX_VARIABLE_NUMBER
+     * defaults to 999 for SQLite versions prior to 3.32.0 which shipped by most Android devices.
+     */
+    public static final int MAX_VARIABLE_NUMBER = 999;
+
+    /**
+     * The maximum number of bytes in the text of a single statement, the default SQLITE_MAX_SQL_LENGTH.
+     * The statement text is passed to SQLite in UTF-8, so it's compared against the UTF-8 length
+     * rather than the char count, which a non-ASCII text would exceeding.
+     */
+    public static final int MAX_SQL_LENGTH = 1000000;
+
+    /**
+     * The maximum number of rows in a single VALUES clause. SQLite prior to 3.8.8 implementing the multi-row
+     * VALUES clause as a compound SELECT, so it's limited by the SQLITE_MAX_COMPOUND_SELECT which defaults to 500.
+     */
+    public static final int MAX_VALUES_ROWS = 500;
+
     /**
      * Producing an "INSERT OR ROLLBACK INTO ..." statement.
      * <p/>
@@ -124,6 +147,7 @@ public class CreateStatement extends Statement {
         createStmt.statement.append("INSERT");
         if (clause != null) createStmt.statement.append(" OR ").append(clause);
         createStmt.statement.append(" INTO ").append(table);
+        createStmt.addTable(table);
         return createStmt;
     }
 
@@ -137,6 +161,18 @@ public class CreateStatement extends Statement {
         return produce(table, null);
     }
 
+    /**
+     * Switch this statement to binding mode, every value put afterwards would be a "?" placeholder.
+     *
+     * @return this statement.
+     * @see Statement#binding()
+     */
+    @Override
+    public CreateStatement binding() {
+        super.binding();
+        return this;
+    }
+
     /**
      * Using a SELECT statement instead of a VALUES clause. A new entry is inserted into
      * the table for each row of data returned by executing the SELECT statement.
@@ -155,7 +191,8 @@ public class CreateStatement extends Statement {
      * @return this statement.
      */
     public CreateStatement entry(Statement stmt) {
-        statement.append(' ').append(stmt);
+        statement.append(' ');
+        appendClause(stmt);
         return this;
     }
 
@@ -169,9 +206,145 @@ public class CreateStatement extends Statement {
         statement.append('(');
         appendClauses(columns);
         statement.append(')');
+        columnsLength = columns.length;
         return this;
     }
 
+    private int columnsLength;
+    private int rowCount;
+
+    /**
+     * Appending a single row to the VALUES clause, calling it repeatedly would produce a multi-row statement like
+     * "INSERT INTO tbl_name(column-1, column-2) VALUES(1, 'a'), (2, 'b')" which inserting all rows at once.
+     * <p/>
+     * <strong>Notice:</strong> The {@link #columns(Object...)} method should be called before, and the multi-row
+     * VALUES clause requires SQLite 3.7.11 or higher(Android 4.1). Prefer {@link #valuesInChunks(java.util.List)}
+     * when the rows are massive, it would splitting them to avoid exceeding the limits of SQLite.
+     *
+     * @param values the row values in the same order of columns, will auto quoting if instance of {@link String}.
+     * @return this statement.
+     */
+    public CreateStatement values(Object... values) {
+        statement.append(rowCount++ == 0 ? " VALUES(" : ", (");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) statement.append(", ");
+            append(values[i]);
+        }
+        statement.append(')');
+        return this;
+    }
+
+    /**
+     * @see #valuesInChunks(java.util.List, int)
+     */
+    public List<CreateStatement> valuesInChunks(List<Object[]> rows) {
+        return valuesInChunks(rows, MAX_VARIABLE_NUMBER);
+    }
+
+    /**
+     * Taking this statement as a template which has been specified the table and columns, producing a series of
+     * multi-row INSERT statements for the given rows. The rows would be chunked automatically thus no statement
+     * going over the {@link #MAX_VALUES_ROWS} rows, the {@link #MAX_SQL_LENGTH} and the variable limit(only in
+     * binding mode). Compare with one INSERT per row, this greatly reduces the statement setup cost of bulk loads.
+     * <p/>
+     * For example:
+     * <p/>
+     * CreateStatement.orReplace("tbl_name").binding().columns("id", "name").valuesInChunks(rows).
+     *
+     * @param rows              the rows to be inserting, each row's values in the same order of columns.
+     * @param maxVariableNumber the maximum number of "?" placeholders in a single statement, including
+     *                          those the template already carried.
+     * @return the produced statements, empty if no rows.
+     * @throws IllegalStateException if this template already has rows appended by {@link #values(Object...)},
+     *                               or its own bind arguments leaving no room for a single row.
+     */
+    public List<CreateStatement> valuesInChunks(List<Object[]> rows, int maxVariableNumber) {
+        if (rowCount > 0) throw new IllegalStateException("The template already has a VALUES clause.");
+
+        List<CreateStatement> chunks = new ArrayList<CreateStatement>();
+        if (rows == null || rows.isEmpty()) return chunks;
+
+        int columnCount = columnsLength > 0 ? columnsLength : rows.get(0).length;
+        int maxRows = MAX_VALUES_ROWS;
+        if (bindArgs != null) {
+            // the arguments which the template carried are repeated in every chunk.
+            int available = maxVariableNumber - bindArgs.size();
+            if (available < columnCount) {
+                throw new IllegalStateException("No room for a row of " + columnCount + " variables, the template " +
+                        "already has " + bindArgs.size() + " of the maximum " + maxVariableNumber + ".");
+            }
+            maxRows = Math.min(maxRows, available / columnCount);
+        }
+
+        int templateBytes = utf8Length(statement, 0, statement.length());
+        int chunkBytes = 0;
+        CreateStatement chunk = null;
+        for (Object[] row : rows) {
+            if (chunk == null || chunk.rowCount >= maxRows) {
+                chunk = newChunk();
+                chunks.add(chunk);
+                chunkBytes = templateBytes;
+            }
+
+            int length = chunk.statement.length();
+            chunk.values(row);
+            int rowBytes = utf8Length(chunk.statement, length, chunk.statement.length());
+
+            // start a new chunk if this row made the statement too long.
+            if (chunkBytes + rowBytes > MAX_SQL_LENGTH && chunk.rowCount > 1) {
+                chunk.statement.setLength(length);
+                if (chunk.bindArgs != null) {
+                    for (int i = row.length; i > 0; i--) chunk.bindArgs.remove(chunk.bindArgs.size() - 1);
+                }
+                chunk.rowCount--;
+
+                chunk = newChunk();
+                chunks.add(chunk);
+                chunkBytes = templateBytes;
+                length = chunk.statement.length();
+                chunk.values(row);
+                rowBytes = utf8Length(chunk.statement, length, chunk.statement.length());
+            }
+            chunkBytes += rowBytes;
+        }
+        return chunks;
+    }
+
+    /**
+     * Counting how many bytes the chars would be encoded to in UTF-8, without encoding them.
+     */
+    private static int utf8Length(CharSequence text, int start, int end) {
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Creating a new statement with the same INSERT clause, table and columns as this one.
+     *
+     * @return the created statement.
+     */
+    private CreateStatement newChunk() {
+        CreateStatement chunk = new CreateStatement();
+        chunk.statement.append(statement);
+        chunk.columnsLength = columnsLength;
+        if (bindArgs != null) chunk.bindArgs = new ArrayList<Object>(bindArgs);
+        if (tables != null) chunk.tables = new HashSet<String>(tables);
+        return chunk;
+    }
+
     private StringBuilder columns = new StringBuilder(128);
     private StringBuilder values = new StringBuilder(128);
     private short columnCount;
@@ -193,9 +366,10 @@ public class CreateStatement extends Statement {
         return this;
     }
 
-    @Override
-    public String toString() {
-        // complete the statement if any column presented.
+    /**
+     * Completing the statement by the columns and values which {@link #put(CharSequence, Object)} if any presented.
+     */
+    private void complete() {
         if (columnCount > 0) {
             statement.append('(').append(columns).append(')');
             statement.append(" VALUES(").append(values).append(')');
@@ -204,6 +378,22 @@ public class CreateStatement extends Statement {
             columns = values = null;
             columnCount = 0;
         }
+    }
+
+    /**
+     * Completing the pending columns and values at first, then cloning this statement as the super method.
+     *
+     * @return the new statement.
+     */
+    @Override
+    public Statement copy() {
+        complete();
+        return super.copy();
+    }
+
+    @Override
+    public String toString() {
+        complete();
         return statement.toString();
     }
 }
@@ -15,8 +15,6 @@
  */
 package com.vincestyling.asqliteplus.statement;
 
-import static java.lang.String.format;
-
 /**
  * This class used to producing an EXISTS operator clause which
  * used to tests whether a sub-query fetches at least one row.
@@ -33,6 +31,8 @@ public class Exists extends ClauseWrapper {
      * @param stmt apply a single sub-query as term.
      */
     public Exists(Statement stmt) {
-        clause = format("EXISTS (%s)", stmt);
+        clause = ClauseAppender.concat("EXISTS (", stmt, ")");
+        bindArgs = stmt.getBindArgs();
+        tables = Statement.getTables(stmt);
     }
 }
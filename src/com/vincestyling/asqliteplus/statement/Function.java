@@ -15,8 +15,6 @@
  */
 package com.vincestyling.asqliteplus.statement;
 
-import static java.lang.String.format;
-
 /**
  * This class provides many static utility methods for wrapping those useful built-in
  * functions of SQLite during constructing SQL statement.
@@ -54,7 +52,7 @@ public class Function {
      * @return the created function.
      */
     public static Function max(Object column) {
-        return new Function(format("max(%s)", column));
+        return new Function(ClauseAppender.concat("max(", column, ")"));
     }
 
     /**
@@ -65,7 +63,7 @@ public class Function {
      * @return the created function.
      */
     public static Function min(Object column) {
-        return new Function(format("min(%s)", column));
+        return new Function(ClauseAppender.concat("min(", column, ")"));
     }
 
     /**
@@ -76,7 +74,7 @@ public class Function {
      * @return the created function.
      */
     public static Function avg(Object column) {
-        return new Function(format("avg(%s)", column));
+        return new Function(ClauseAppender.concat("avg(", column, ")"));
     }
 
     /**
@@ -87,7 +85,7 @@ public class Function {
      * @return the created function.
      */
     public static Function sum(Object column) {
-        return new Function(format("sum(%s)", column));
+        return new Function(ClauseAppender.concat("sum(", column, ")"));
     }
 
     /**
@@ -98,7 +96,7 @@ public class Function {
      * @return the created function.
      */
     public static Function abs(Object column) {
-        return new Function(format("abs(%s)", column));
+        return new Function(ClauseAppender.concat("abs(", column, ")"));
     }
 
     /**
@@ -109,7 +107,7 @@ public class Function {
      * @return the created function.
      */
     public static Function upper(Object column) {
-        return new Function(format("upper(%s)", column));
+        return new Function(ClauseAppender.concat("upper(", column, ")"));
     }
 
     /**
@@ -120,7 +118,7 @@ public class Function {
      * @return the created function.
      */
     public static Function lower(Object column) {
-        return new Function(format("lower(%s)", column));
+        return new Function(ClauseAppender.concat("lower(", column, ")"));
     }
 
     /**
@@ -131,7 +129,7 @@ public class Function {
      * @return the created function.
      */
     public static Function length(Object column) {
-        return new Function(format("length(%s)", column));
+        return new Function(ClauseAppender.concat("length(", column, ")"));
     }
 
     /**
@@ -161,6 +159,15 @@ public class Function {
         return new Function("random()");
     }
 
+    /**
+     * Rendering the function expression into the statement directly, without creating an intermediate String.
+     *
+     * @param statement the StringBuilder that the expression will be appended to.
+     */
+    void appendTo(StringBuilder statement) {
+        statement.append(expression);
+    }
+
     /**
      * Taking the final function expression via this method.
      *
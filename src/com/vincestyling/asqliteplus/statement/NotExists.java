@@ -15,8 +15,6 @@
  */
 package com.vincestyling.asqliteplus.statement;
 
-import static java.lang.String.format;
-
 /**
  * Appending the NOT EXISTS operator clause by a sub-query.
  *
@@ -30,6 +28,6 @@ public class NotExists extends Exists {
      */
     public NotExists(Statement stmt) {
         super(stmt);
-        clause = format("NOT %s", clause);
+        clause = ClauseAppender.concat("NOT ", clause);
     }
 }
@@ -15,8 +15,6 @@
  */
 package com.vincestyling.asqliteplus.statement;
 
-import static java.lang.String.format;
-
 /**
  * This class used to parenthesizing the specified statement.
  */
@@ -27,6 +25,8 @@ public class Parenthesize extends ClauseWrapper {
      * @param object the object to be parenthesizing for.
      */
     public Parenthesize(Object object) {
-        clause = format("(%s)", object);
+        clause = ClauseAppender.concat("(", object, ")");
+        bindArgs = Statement.getBindArgs(object);
+        tables = Statement.getTables(object);
     }
 }
@@ -47,6 +47,7 @@ public class QueryStatement extends Statement {
     public static Statement distinct(Object... columns) {
         QueryStatement queryStmt = new QueryStatement();
         queryStmt.statement.append("SELECT DISTINCT");
+        queryStmt.clauseFlags |= CLAUSE_DISTINCT;
         return queryStmt.processColumns(columns);
     }
 
@@ -60,14 +61,47 @@ public class QueryStatement extends Statement {
      */
     public Statement processColumns(Object... columns) {
         statement.append(' ');
+        projectionStart = statement.length();
+        int argCount = bindArgs != null ? bindArgs.size() : 0;
+
+        projectionReducible = true;
+        projectionAliased = false;
         if (columns != null && columns.length > 0) {
             appendClauses(columns);
+            for (Object column : columns) {
+                if (isPlainColumn(column)) continue;
+                projectionReducible = false;
+                // a raw expression could carrying an alias as well.
+                if (!(column instanceof Function)) projectionAliased = true;
+            }
         } else {
             statement.append('*');
         }
+
+        projectionEnd = statement.length();
+        // the columns which carried bind arguments can't be replaced.
+        if (bindArgs != null && bindArgs.size() > argCount) {
+            projectionReducible = false;
+            projectionAliased = true;
+        }
         return this;
     }
 
+    /**
+     * Determine whether the column is just a column name which don't affect the row count.
+     */
+    private static boolean isPlainColumn(Object column) {
+        if (column instanceof Scoping) return true;
+        if (!(column instanceof CharSequence)) return false;
+
+        CharSequence name = (CharSequence) column;
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (!Character.isLetterOrDigit(ch) && "_.*\"`[]".indexOf(ch) == -1) return false;
+        }
+        return name.length() > 0;
+    }
+
     /**
      * Producing a "SELECT count(*) ..." statement.
      *
@@ -89,12 +123,13 @@ public class QueryStatement extends Statement {
      */
     public static Statement union(boolean distinct, Statement... subQueries) {
         QueryStatement stmt = new QueryStatement();
+        stmt.clauseFlags |= CLAUSE_COMPOUND;
 
         String unionOperator = distinct ? " UNION " : " UNION ALL ";
 
         for (int i = 0; i < subQueries.length; i++) {
             if (i > 0) stmt.statement.append(unionOperator);
-            stmt.statement.append(subQueries[i]);
+            stmt.appendClause(subQueries[i]);
         }
 
         return stmt;
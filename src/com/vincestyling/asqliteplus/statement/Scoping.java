@@ -15,8 +15,6 @@
  */
 package com.vincestyling.asqliteplus.statement;
 
-import static java.lang.String.format;
-
 /**
  * This class used to producing a clause which included column name and table scope.
  * <p/>
@@ -27,11 +25,6 @@ import static java.lang.String.format;
  * new Scoping(new Alias("tbl_name", "tbl"), "column_name") would produce "tbl.column_name".
  */
 public class Scoping extends ClauseWrapper {
-    /**
-     * The scoping pattern.
-     */
-    private static final String PATTERN = "%s.%s";
-
     /**
      * Constructing the clause by a table with Alias.
      *
@@ -39,7 +32,7 @@ public class Scoping extends ClauseWrapper {
      * @param column the column name.
      */
     public Scoping(Alias alias, CharSequence column) {
-        clause = format(PATTERN, alias.getAlias(), column);
+        clause = ClauseAppender.concat(alias.getAlias(), ".", column);
     }
 
     /**
@@ -49,6 +42,6 @@ public class Scoping extends ClauseWrapper {
      * @param column the column name.
      */
     public Scoping(String table, CharSequence column) {
-        clause = format(PATTERN, table, column);
+        clause = ClauseAppender.concat(table, ".", column);
     }
 }
@@ -15,6 +15,14 @@
  */
 package com.vincestyling.asqliteplus.statement;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
 import static android.database.DatabaseUtils.appendEscapedSQLString;
 
 /**
@@ -28,14 +36,106 @@ import static android.database.DatabaseUtils.appendEscapedSQLString;
  * <strong>Note:</strong> 'Cause this series of statement producer would never understand about the SQL
  * syntax, therefore this assumes you have a basic knowledge of SQL programming, you need to decide
  * which clause can be join together without syntax errors while performing and which cannot.
+ * <p/>
+ * By default, all the values would be inlined as escaped literals. Switch to binding mode via {@link #binding()}
+ * then those values would be replaced by "?" placeholders and collected as a typed argument array, which the
+ * {@link com.vincestyling.asqliteplus.DBOverseer} passes to SQLite so the same SQL text can be reused.
  *
  * @see com.vincestyling.asqliteplus.DBOverseer
  */
 public class Statement {
+    /**
+     * The initial capacity of the StringBuilder, which enough for most statements without growing.
+     */
+    protected static final int DEFAULT_CAPACITY = 128;
+
     /**
      * the StringBuilder to representing the SQL statement.
      */
-    protected StringBuilder statement = new StringBuilder(512);
+    protected StringBuilder statement;
+
+    /**
+     * the arguments to bind in turn to the "?" placeholders, null indicates not in binding mode.
+     */
+    protected ArrayList<Object> bindArgs;
+
+    /**
+     * The placeholder in {@link #getTables()} indicates some referenced tables are unknown.
+     */
+    public static final String ANY_TABLE = "*";
+
+    /**
+     * the names of the tables which this statement referenced, in lower case.
+     */
+    protected HashSet<String> tables;
+
+    /**
+     * the structure of a SELECT statement recorded while concatenating, which used
+     * to deriving the counting statement, see {@link #toCountStatement()}.
+     */
+    protected int projectionStart = -1;
+    protected int projectionEnd = -1;
+    protected boolean projectionReducible;
+    protected boolean projectionAliased;
+    protected int orderByStart = -1;
+    protected int orderByEnd = -1;
+    protected int orderByArgStart;
+    protected int orderByArgEnd;
+    protected int clauseFlags;
+
+    protected static final int CLAUSE_DISTINCT = 1;
+    protected static final int CLAUSE_GROUP_BY = 1 << 1;
+    protected static final int CLAUSE_HAVING = 1 << 2;
+    protected static final int CLAUSE_LIMIT = 1 << 3;
+    protected static final int CLAUSE_COMPOUND = 1 << 4;
+
+    public Statement() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the initial capacity of the StringBuilder, e.g. the length of the statement to be copied.
+     */
+    protected Statement(int capacity) {
+        statement = new StringBuilder(capacity);
+    }
+
+    /**
+     * Switch this statement to binding mode, all the values appending afterwards would be replaced
+     * by a "?" placeholder and collected to the argument array instead of inlined as literals.
+     * <p/>
+     * <strong>Note:</strong> Only the values which have to be escaping would be bound, that's
+     * {@link String}, {@link Number}, {@link Boolean}, byte[] and null. Others such as {@link Function},
+     * {@link Scoping} or {@link UnescapeString} are still concatenated as is.
+     *
+     * @return this statement.
+     * @see #getBindArgs()
+     */
+    public Statement binding() {
+        if (bindArgs == null) bindArgs = new ArrayList<Object>();
+        return this;
+    }
+
+    /**
+     * Return the arguments which to be binding to the "?" placeholders in the order they appear.
+     *
+     * @return the arguments, or null if this statement never switched to binding mode.
+     */
+    public Object[] getBindArgs() {
+        return bindArgs != null ? bindArgs.toArray() : null;
+    }
+
+    /**
+     * Return the names of the tables which this statement referenced, include those referenced by the
+     * sub-queries. The {@link com.vincestyling.asqliteplus.DBOverseer} takes them to determine which
+     * cached results became stale after a statement written.
+     *
+     * @return the table names in lower case, an empty set if no table was referenced,
+     * contains {@link #ANY_TABLE} if some referenced tables are unknown, e.g. a raw sub-query.
+     */
+    public Set<String> getTables() {
+        return tables != null ? Collections.unmodifiableSet(tables) : Collections.<String>emptySet();
+    }
 
     /**
      * Appending the FROM clause with one or more table name.
@@ -46,7 +146,10 @@ public class Statement {
      */
     public Statement from(Object... tables) {
         statement.append(" FROM ");
-        appendClauses(tables);
+        for (int i = 0; i < tables.length; i++) {
+            if (i > 0) statement.append(", ");
+            appendTable(tables[i]);
+        }
         return this;
     }
 
@@ -59,7 +162,8 @@ public class Statement {
      * @return this statement.
      */
     public Statement where(Object operand) {
-        statement.append(" WHERE ").append(operand);
+        statement.append(" WHERE ");
+        appendClause(operand);
         return this;
     }
 
@@ -72,7 +176,8 @@ public class Statement {
      * @return this statement.
      */
     public Statement and(Object operand) {
-        statement.append(" AND ").append(operand);
+        statement.append(" AND ");
+        appendClause(operand);
         return this;
     }
 
@@ -85,7 +190,8 @@ public class Statement {
      * @return this statement.
      */
     public Statement or(Object operand) {
-        statement.append(" OR ").append(operand);
+        statement.append(" OR ");
+        appendClause(operand);
         return this;
     }
 
@@ -97,6 +203,10 @@ public class Statement {
      * @return this statement.
      */
     public Statement orderBy(Object... columns) {
+        if (orderByStart == -1) {
+            orderByStart = statement.length();
+            orderByArgStart = getBindArgCount();
+        }
         statement.append(" ORDER BY ");
         appendClauses(columns);
         return this;
@@ -133,6 +243,7 @@ public class Statement {
      * @return this statement.
      */
     public Statement groupBy(Object... columns) {
+        clauseFlags |= CLAUSE_GROUP_BY;
         statement.append(" GROUP BY ");
         appendClauses(columns);
         return this;
@@ -146,7 +257,9 @@ public class Statement {
      * @return this statement.
      */
     public Statement having(Object column) {
-        statement.append(" HAVING ").append(column);
+        clauseFlags |= CLAUSE_HAVING;
+        statement.append(" HAVING ");
+        appendClause(column);
         return this;
     }
 
@@ -157,6 +270,7 @@ public class Statement {
      * @return this statement.
      */
     public Statement offset(int offset) {
+        markLimit();
         statement.append(" OFFSET ").append(offset);
         return this;
     }
@@ -168,6 +282,7 @@ public class Statement {
      * @return this statement.
      */
     public Statement limit(int rowAmount) {
+        markLimit();
         statement.append(" LIMIT ").append(rowAmount);
         return this;
     }
@@ -306,7 +421,9 @@ public class Statement {
      * @return this statement.
      */
     public Statement in(Statement stmt) {
-        statement.append(" IN (").append(stmt).append(')');
+        statement.append(" IN (");
+        appendClause(stmt);
+        statement.append(')');
         return this;
     }
 
@@ -355,7 +472,7 @@ public class Statement {
      */
     public Statement like(String expr) {
         statement.append(" LIKE ");
-        appendEscapedSQLString(statement, expr);
+        append(expr);
         return this;
     }
 
@@ -413,7 +530,8 @@ public class Statement {
      * @return this statement.
      */
     public Statement join(Object table) {
-        statement.append(" JOIN ").append(table);
+        statement.append(" JOIN ");
+        appendTable(table);
         return this;
     }
 
@@ -427,7 +545,8 @@ public class Statement {
      * @return this statement.
      */
     public Statement naturalJoin(Object table) {
-        statement.append(" NATURAL JOIN ").append(table);
+        statement.append(" NATURAL JOIN ");
+        appendTable(table);
         return this;
     }
 
@@ -441,7 +560,8 @@ public class Statement {
      * @return this statement.
      */
     public Statement crossJoin(Object table) {
-        statement.append(" CROSS JOIN ").append(table);
+        statement.append(" CROSS JOIN ");
+        appendTable(table);
         return this;
     }
 
@@ -455,7 +575,8 @@ public class Statement {
      * @return this statement.
      */
     public Statement leftJoin(Object table) {
-        statement.append(" LEFT JOIN ").append(table);
+        statement.append(" LEFT JOIN ");
+        appendTable(table);
         return this;
     }
 
@@ -469,7 +590,8 @@ public class Statement {
      * @return this statement.
      */
     public Statement leftNaturalJoin(Object table) {
-        statement.append(" NATURAL LEFT JOIN ").append(table);
+        statement.append(" NATURAL LEFT JOIN ");
+        appendTable(table);
         return this;
     }
 
@@ -481,7 +603,8 @@ public class Statement {
      * @return this statement.
      */
     public Statement on(Object column) {
-        statement.append(" ON ").append(column);
+        statement.append(" ON ");
+        appendClause(column);
         return this;
     }
 
@@ -517,18 +640,237 @@ public class Statement {
      * In order to preventing SQL injection, also escaping that String value which may contain single quotes.
      * <p/>
      * <strong>Note:</strong> you can wrapping a String as {@link UnescapeString} to avoiding this behaviors.
+     * <p/>
+     * In binding mode, append a "?" placeholder instead and collect the value as a bind argument.
      *
      * @param statement the StringBuilder that the SQL statement will be appended to.
      * @param value     the raw value to be append, would translate to String["null"] if being <code>null</code>.
      */
     protected void append(StringBuilder statement, Object value) {
-        if (value instanceof String) {
+        if (bindArgs != null && isBindable(value)) {
+            statement.append('?');
+            bindArgs.add(value);
+        } else if (value instanceof String) {
             appendEscapedSQLString(statement, value.toString());
         } else {
             statement.append(value);
         }
     }
 
+    /**
+     * Checking if the value able to be bound, the others should be concatenated as is.
+     *
+     * @param value the raw value.
+     * @return true if the value able to be bound.
+     */
+    protected static boolean isBindable(Object value) {
+        return value == null || value instanceof String || value instanceof Number
+                || value instanceof Boolean || value instanceof byte[];
+    }
+
+    /**
+     * Appending a single clause, also taking the bind arguments if the clause is a sub-query
+     * {@link Statement} or a {@link ClauseWrapper} which wrapped one.
+     *
+     * @param clause the clause to be append.
+     */
+    protected void appendClause(Object clause) {
+        ClauseAppender.append(statement, clause);
+
+        Object[] args = getBindArgs(clause);
+        if (args != null && args.length > 0) {
+            binding();
+            Collections.addAll(bindArgs, args);
+        }
+
+        Set<String> referenced = getTables(clause);
+        if (referenced != null) {
+            for (String table : referenced) addTable(table);
+        }
+    }
+
+    /**
+     * Appending a table clause and recording the table name, or the tables referenced by the sub-query.
+     *
+     * @param table the table clause, can be either a normal String which just the table name
+     *              or wrapped the table name's {@link Alias} object, or a sub-query.
+     */
+    protected void appendTable(Object table) {
+        appendClause(table);
+
+        Object name = table instanceof Alias ? ((Alias) table).getObject() : table;
+        if (name instanceof CharSequence) addTable((CharSequence) name);
+    }
+
+    /**
+     * Recording a table name which this statement referenced, the name would be normalized by removing
+     * the trailing alias and the quotes, then converting to lower case as SQLite ignores the case.
+     *
+     * @param table the table name.
+     */
+    protected void addTable(CharSequence table) {
+        String name = table.toString().trim();
+        int end = 0;
+        while (end < name.length() && !Character.isWhitespace(name.charAt(end))) end++;
+        name = name.substring(0, end);
+
+        if (name.length() > 1 && "\"`[".indexOf(name.charAt(0)) != -1) {
+            name = name.substring(1, name.length() - 1);
+        }
+        if (name.length() == 0) return;
+        // a raw sub-query which we don't know what it referenced.
+        if (name.charAt(0) == '(') name = ANY_TABLE;
+
+        if (tables == null) tables = new HashSet<String>(4);
+        tables.add(name.toLowerCase(Locale.US));
+    }
+
+    /**
+     * Taking the table names which referenced by a clause.
+     *
+     * @param clause the clause, could be a {@link Statement}, {@link ClauseWrapper} or {@link Alias}.
+     * @return the table names, or null if the clause without any.
+     */
+    static Set<String> getTables(Object clause) {
+        if (clause instanceof Statement) return ((Statement) clause).tables;
+        if (clause instanceof ClauseWrapper) return ((ClauseWrapper) clause).getTables();
+        if (clause instanceof Alias) return getTables(((Alias) clause).getObject());
+        return null;
+    }
+
+    /**
+     * Parsing the table names which a raw SQL referenced as a best effort, by taking the names which following the
+     * FROM, JOIN, INTO, UPDATE and TABLE keywords, the comma separated tables of FROM clause are supported as well.
+     * Those tables which affected indirectly, e.g. by the triggers or the foreign key actions, wouldn't be found.
+     *
+     * @param sql the raw SQL.
+     * @return the table names in lower case, empty if nothing found.
+     */
+    public static Set<String> parseTables(CharSequence sql) {
+        List<String> tokens = tokenize(sql);
+        Set<String> tables = new HashSet<String>(4);
+        for (int i = 0; i < tokens.size(); i++) {
+            String keyword = tokens.get(i).toUpperCase(Locale.US);
+            boolean fromList = keyword.equals("FROM");
+            boolean source = fromList || keyword.equals("JOIN");
+            if (!source && !keyword.equals("INTO")
+                    && !keyword.equals("UPDATE") && !keyword.equals("TABLE")) continue;
+            // the "ON CONFLICT ... DO UPDATE SET" of an upsert updating the INSERT's table, not naming one.
+            if (keyword.equals("UPDATE") && i > 0 && tokens.get(i - 1).equalsIgnoreCase("DO")) continue;
+
+            int next = i + 1;
+            // skipping the "UPDATE OR ROLLBACK", "TABLE IF NOT EXISTS" kind of modifiers.
+            if (keyword.equals("UPDATE") && next + 1 < tokens.size() && tokens.get(next).equalsIgnoreCase("OR")) {
+                next += 2;
+            }
+            if (keyword.equals("TABLE") && next + 1 < tokens.size() && tokens.get(next).equalsIgnoreCase("IF")) {
+                next += tokens.get(next + 1).equalsIgnoreCase("NOT") ? 3 : 2;
+            }
+
+            while (next < tokens.size()) {
+                String name = tokens.get(next);
+                if (!isIdentifierToken(name)) break;
+                // "schema.table".
+                if (next + 2 < tokens.size() && tokens.get(next + 1).equals(".")) {
+                    next += 2;
+                    name = tokens.get(next);
+                }
+                next++;
+
+                // a table-valued function rather than a table, but the column list of INSERT||CREATE.
+                if (source && next < tokens.size() && tokens.get(next).equals("(")) break;
+                tables.add(unquote(name).toLowerCase(Locale.US));
+                if (!fromList) break;
+
+                // skipping the alias, then continue if comma separated.
+                if (next < tokens.size() && tokens.get(next).equalsIgnoreCase("AS")) next++;
+                if (next < tokens.size() && isIdentifierToken(tokens.get(next)) && !isKeyword(tokens.get(next))) next++;
+                if (next >= tokens.size() || !tokens.get(next).equals(",")) break;
+                next++;
+            }
+        }
+        return tables;
+    }
+
+    private static final Set<String> KEYWORDS = new HashSet<String>(Arrays.asList(
+            "WHERE", "GROUP", "HAVING", "ORDER", "LIMIT", "UNION", "EXCEPT", "INTERSECT", "JOIN", "INNER", "LEFT",
+            "RIGHT", "FULL", "CROSS", "NATURAL", "OUTER", "ON", "USING", "SET", "VALUES", "SELECT", "WINDOW", "AS"));
+
+    private static boolean isKeyword(String token) {
+        return KEYWORDS.contains(token.toUpperCase(Locale.US));
+    }
+
+    private static boolean isIdentifierToken(String token) {
+        char first = token.charAt(0);
+        return first == '"' || first == '`' || first == '[' || Character.isLetter(first) || first == '_';
+    }
+
+    private static String unquote(String name) {
+        char first = name.charAt(0);
+        if (name.length() < 2 || first != '"' && first != '`' && first != '[') return name;
+        return name.substring(1, name.length() - 1);
+    }
+
+    /**
+     * Splitting the SQL into the words, the quoted identifiers and the punctuations,
+     * skipping the string literals, the comments and the whitespaces.
+     */
+    private static List<String> tokenize(CharSequence sql) {
+        List<String> tokens = new ArrayList<String>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                // string literal, the quote is escaped by doubling.
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i++) == '\'') {
+                        if (i < length && sql.charAt(i) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                while (i < length && sql.charAt(i) != '\n') i++;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.toString().indexOf("*/", i + 2);
+                i = end == -1 ? length : end + 2;
+            } else if (c == '"' || c == '`' || c == '[') {
+                char close = c == '[' ? ']' : c;
+                int start = i++;
+                while (i < length && sql.charAt(i) != close) i++;
+                i = Math.min(i + 1, length);
+                tokens.add(sql.subSequence(start, i).toString());
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '$') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_' || sql.charAt(i) == '$')) i++;
+                tokens.add(sql.subSequence(start, i).toString());
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Taking the bind arguments which carried by a clause.
+     *
+     * @param clause the clause, could be a {@link Statement}, {@link ClauseWrapper} or {@link Alias}.
+     * @return the bind arguments, or null if the clause without any.
+     */
+    static Object[] getBindArgs(Object clause) {
+        if (clause instanceof Statement) return ((Statement) clause).getBindArgs();
+        if (clause instanceof ClauseWrapper) return ((ClauseWrapper) clause).getBindArgs();
+        if (clause instanceof Alias) return getBindArgs(((Alias) clause).getObject());
+        return null;
+    }
+
     /**
      * Concatenates all the given clauses, separating them with commas.
      *
@@ -539,18 +881,154 @@ public class Statement {
     protected void appendClauses(Object... clauses) {
         for (int i = 0; i < clauses.length; i++) {
             if (i > 0) statement.append(", ");
-            statement.append(clauses[i]);
+            appendClause(clauses[i]);
         }
     }
 
+    /**
+     * Marking the LIMIT||OFFSET clause, which also ending the ORDER BY clause.
+     */
+    private void markLimit() {
+        clauseFlags |= CLAUSE_LIMIT;
+        if (orderByStart != -1 && orderByEnd == -1) {
+            orderByEnd = statement.length();
+            orderByArgEnd = getBindArgCount();
+        }
+    }
+
+    private int getBindArgCount() {
+        return bindArgs != null ? bindArgs.size() : 0;
+    }
+
+    /**
+     * Deriving a statement which counting the rows this SELECT statement would return. Different with simply
+     * wrapping it as "SELECT count(*) FROM ([this statement])", the ORDER BY clause would be dropped, and the
+     * column list would be replaced by a constant whenever the columns don't affect the row count, thus
+     * SQLite needn't sorting the rows or computing the columns which would be thrown away.
+     * <p/>
+     * e.g. "SELECT name, price FROM tbl WHERE price > 10 ORDER BY price" produces
+     * "SELECT count(*) FROM tbl WHERE price > 10", and the one with GROUP BY||LIMIT clause produces
+     * "SELECT count(*) FROM (SELECT 1 FROM tbl WHERE price > 10 GROUP BY name)".
+     * <p/>
+     * The columns are considered affecting the row count if any of them isn't a plain column name or
+     * {@link Scoping}, such as an aggregate {@link Function} or an {@link Alias} which could be referenced
+     * by the other clauses, or by the DISTINCT clause. But the aggregate functions don't matter when
+     * grouping the rows, only the aliases do.
+     *
+     * @return the counting statement.
+     */
+    public Statement toCountStatement() {
+        int wrappingClauses = CLAUSE_DISTINCT | CLAUSE_GROUP_BY | CLAUSE_HAVING | CLAUSE_LIMIT | CLAUSE_COMPOUND;
+        if (isProjectionReducible() && (clauseFlags & wrappingClauses) == 0) {
+            return derive("count(*)");
+        }
+        return QueryStatement.rowCount().from(new Parenthesize(toCountingSubquery()));
+    }
+
+    /**
+     * Deriving a statement as {@link #toCountStatement()}, but stop counting when reaching the given
+     * maximum, e.g. "SELECT count(*) FROM (SELECT 1 FROM tbl WHERE price > 10 LIMIT 1000)".
+     *
+     * @param maxCount the maximum number of rows to counting.
+     * @return the counting statement.
+     */
+    public Statement toCountStatement(int maxCount) {
+        Statement subquery = toCountingSubquery();
+        if ((clauseFlags & CLAUSE_LIMIT) != 0) {
+            subquery = QueryStatement.produce("1").from(new Parenthesize(subquery));
+        }
+        return QueryStatement.rowCount().from(new Parenthesize(subquery.limit(maxCount)));
+    }
+
+    /**
+     * Deriving a statement which appending a "count(*) OVER ()" window column to the column list of
+     * this SELECT statement, thus every row would carrying the total number of rows, e.g.
+     * "SELECT *, count(*) OVER () AS total FROM tbl ORDER BY price", which could then be paged by LIMIT.
+     * <p/>
+     * The window functions requires SQLite 3.25.0 or higher.
+     *
+     * @param alias the name of the window column.
+     * @return the derived statement, or null if this statement have the DISTINCT, LIMIT||OFFSET or
+     * compound clause, which make the window column unable to counting the rows correctly.
+     */
+    public Statement withTotalCountColumn(CharSequence alias) {
+        if (projectionStart == -1 || (clauseFlags & (CLAUSE_DISTINCT | CLAUSE_LIMIT | CLAUSE_COMPOUND)) != 0) {
+            return null;
+        }
+
+        String column = ClauseAppender.concat(", count(*) OVER () AS ", alias);
+        Statement stmt = copy();
+        stmt.statement.insert(projectionEnd, column);
+        stmt.projectionEnd += column.length();
+        if (stmt.orderByStart != -1) stmt.orderByStart += column.length();
+        return stmt;
+    }
+
+    /**
+     * Deriving the statement which return the same number of rows as this one, but
+     * without the ORDER BY clause and the unnecessary columns.
+     */
+    private Statement toCountingSubquery() {
+        boolean reducible = (clauseFlags & (CLAUSE_DISTINCT | CLAUSE_HAVING)) == 0 && (isProjectionReducible()
+                || projectionStart != -1 && !projectionAliased && (clauseFlags & CLAUSE_GROUP_BY) != 0);
+        return derive(reducible ? "1" : null);
+    }
+
+    private boolean isProjectionReducible() {
+        return projectionStart != -1 && projectionReducible;
+    }
+
+    /**
+     * Copying this statement with the ORDER BY clause dropped and the column list replaced.
+     *
+     * @param projection the new column list, or null to keeping the original.
+     * @return the derived statement.
+     */
+    private Statement derive(String projection) {
+        int orderByEnd = this.orderByEnd != -1 ? this.orderByEnd : statement.length();
+        int orderByArgEnd = this.orderByEnd != -1 ? this.orderByArgEnd : getBindArgCount();
+        // keep the ORDER BY clause if it carried any bind arguments, which can't be dropped individually.
+        boolean dropOrderBy = orderByStart != -1 && orderByArgEnd == orderByArgStart;
+
+        Statement stmt = new Statement(statement.length());
+        if (projection != null) {
+            stmt.statement.append(statement, 0, projectionStart).append(projection);
+            if (dropOrderBy) {
+                stmt.statement.append(statement, projectionEnd, orderByStart).append(statement, orderByEnd, statement.length());
+            } else {
+                stmt.statement.append(statement, projectionEnd, statement.length());
+            }
+        } else if (dropOrderBy) {
+            stmt.statement.append(statement, 0, orderByStart).append(statement, orderByEnd, statement.length());
+        } else {
+            stmt.statement.append(statement);
+        }
+
+        if (bindArgs != null) stmt.bindArgs = new ArrayList<Object>(bindArgs);
+        if (tables != null) stmt.tables = new HashSet<String>(tables);
+        stmt.clauseFlags = clauseFlags;
+        return stmt;
+    }
+
     /**
      * Simply clone this Statement by create a new Statement which apply the original statement.
      *
      * @return the new statement.
      */
     public Statement copy() {
-        Statement stmt = new Statement();
+        Statement stmt = new Statement(statement.length());
         stmt.statement.append(statement);
+        if (bindArgs != null) stmt.bindArgs = new ArrayList<Object>(bindArgs);
+        if (tables != null) stmt.tables = new HashSet<String>(tables);
+        stmt.projectionStart = projectionStart;
+        stmt.projectionEnd = projectionEnd;
+        stmt.projectionReducible = projectionReducible;
+        stmt.projectionAliased = projectionAliased;
+        stmt.orderByStart = orderByStart;
+        stmt.orderByEnd = orderByEnd;
+        stmt.orderByArgStart = orderByArgStart;
+        stmt.orderByArgEnd = orderByArgEnd;
+        stmt.clauseFlags = clauseFlags;
         return stmt;
     }
 
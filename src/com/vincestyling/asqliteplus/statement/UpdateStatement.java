@@ -122,6 +122,7 @@ public class UpdateStatement extends Statement {
         updateStmt.statement.append("UPDATE");
         if (clause != null) updateStmt.statement.append(" OR ").append(clause);
         updateStmt.statement.append(' ').append(table).append(" SET");
+        updateStmt.addTable(table);
         return updateStmt;
     }
 
@@ -135,6 +136,18 @@ public class UpdateStatement extends Statement {
         return produce(table, null);
     }
 
+    /**
+     * Switch this statement to binding mode, every value set afterwards would be a "?" placeholder.
+     *
+     * @return this statement.
+     * @see Statement#binding()
+     */
+    @Override
+    public UpdateStatement binding() {
+        super.binding();
+        return this;
+    }
+
     private short columnCount;
 
     /**
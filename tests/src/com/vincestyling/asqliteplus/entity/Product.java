@@ -15,7 +15,12 @@
  */
 package com.vincestyling.asqliteplus.entity;
 
+import com.vincestyling.asqliteplus.annotation.Column;
+import com.vincestyling.asqliteplus.annotation.Entity;
+
+@Entity(table = "Products")
 public class Product {
+    @Column(primaryKey = true)
     private int productId;
     private String productName;
     private int supplierId;
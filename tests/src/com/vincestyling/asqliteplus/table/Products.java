@@ -15,6 +15,8 @@
  */
 package com.vincestyling.asqliteplus.table;
 
+import android.database.sqlite.SQLiteStatement;
+import com.vincestyling.asqliteplus.DBBinder;
 import com.vincestyling.asqliteplus.DBOperator;
 import com.vincestyling.asqliteplus.entity.Product;
 import com.vincestyling.asqliteplus.statement.CreateStatement;
@@ -135,4 +137,27 @@ public class Products extends Table {
                     .put(PRICE, entity.getPrice());
         }
     };
+
+    public final static DBBinder<Product> CREATE_DBBINDER = new DBBinder<Product>() {
+        @Override
+        public Object produce() {
+            return CreateStatement.produce(TABLE_NAME).binding()
+                    .put(PRODUCT_ID, null)
+                    .put(PRODUCT_NAME, null)
+                    .put(SUPPLIER_ID, null)
+                    .put(CATEGORY_ID, null)
+                    .put(UNIT, null)
+                    .put(PRICE, null);
+        }
+
+        @Override
+        public void bind(SQLiteStatement statement, Product entity) {
+            statement.bindLong(1, entity.getProductId());
+            statement.bindString(2, entity.getProductName());
+            statement.bindLong(3, entity.getSupplierId());
+            statement.bindLong(4, entity.getCategoryId());
+            statement.bindString(5, entity.getUnit());
+            statement.bindDouble(6, entity.getPrice());
+        }
+    };
 }
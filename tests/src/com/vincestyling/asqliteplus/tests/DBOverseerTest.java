@@ -15,18 +15,59 @@
  */
 package com.vincestyling.asqliteplus.tests;
 
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import com.vincestyling.asqliteplus.CountCache;
+import com.vincestyling.asqliteplus.CursorList;
+import com.vincestyling.asqliteplus.DBBinder;
+import com.vincestyling.asqliteplus.DBCallback;
+import com.vincestyling.asqliteplus.DBOperator;
+import com.vincestyling.asqliteplus.DBOverseer;
+import com.vincestyling.asqliteplus.IdentityMap;
 import com.vincestyling.asqliteplus.PaginationList;
+import com.vincestyling.asqliteplus.PaginationStrategy;
+import com.vincestyling.asqliteplus.QueryCache;
+import com.vincestyling.asqliteplus.QueryObserver;
+import com.vincestyling.asqliteplus.RetryPolicy;
+import com.vincestyling.asqliteplus.RowCallback;
+import com.vincestyling.asqliteplus.RowIterator;
+import com.vincestyling.asqliteplus.SeekPaginationList;
+import com.vincestyling.asqliteplus.SingleFlight;
+import com.vincestyling.asqliteplus.StatementCache;
+import com.vincestyling.asqliteplus.TransactionCallback;
+import com.vincestyling.asqliteplus.TransactionMode;
 import com.vincestyling.asqliteplus.entity.Category;
 import com.vincestyling.asqliteplus.entity.Customer;
 import com.vincestyling.asqliteplus.entity.Product;
+import com.vincestyling.asqliteplus.entity.Product_InsertOperator;
+import com.vincestyling.asqliteplus.entity.Product_RowMapper;
+import com.vincestyling.asqliteplus.entity.Product_UpdateOperator;
+import com.vincestyling.asqliteplus.statement.Alias;
 import com.vincestyling.asqliteplus.statement.CreateStatement;
+import com.vincestyling.asqliteplus.statement.DeleteStatement;
 import com.vincestyling.asqliteplus.statement.QueryStatement;
+import com.vincestyling.asqliteplus.statement.Scoping;
+import com.vincestyling.asqliteplus.statement.Statement;
+import com.vincestyling.asqliteplus.statement.UpdateStatement;
 import com.vincestyling.asqliteplus.table.Categories;
 import com.vincestyling.asqliteplus.table.Customers;
 import com.vincestyling.asqliteplus.table.Products;
 import com.vincestyling.asqliteplus.table.Table;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class DBOverseerTest extends BaseDBTestCase {
 
@@ -84,6 +125,33 @@ public class DBOverseerTest extends BaseDBTestCase {
         }
     }
 
+    public void testGetPrimitiveColumns() {
+        mStatement = QueryStatement.produce(Products.PRODUCT_ID).from(Products.TABLE_NAME).orderBy(Products.PRODUCT_ID);
+        int[] productIds = MyDBOverseer.get().getIntColumn(mStatement);
+        assertNotNull(productIds);
+        assertEquals(Products.INIT_DATAS.size(), productIds.length);
+        for (int i = 0; i < productIds.length; i++) {
+            assertEquals(Products.INIT_DATAS.get(i).getProductId(), productIds[i]);
+        }
+
+        long[] longIds = MyDBOverseer.get().getLongColumn(mStatement);
+        assertNotNull(longIds);
+        assertEquals(productIds.length, longIds.length);
+        assertEquals(productIds[productIds.length - 1], longIds[longIds.length - 1]);
+
+        mStatement = QueryStatement.produce(Products.PRICE).from(Products.TABLE_NAME).orderBy(Products.PRODUCT_ID);
+        double[] prices = MyDBOverseer.get().getDoubleColumn(mStatement);
+        assertNotNull(prices);
+        for (int i = 0; i < prices.length; i++) {
+            assertEquals(Products.INIT_DATAS.get(i).getPrice(), prices[i], 0);
+        }
+
+        mStatement = QueryStatement.produce(Products.PRODUCT_ID).from(Products.TABLE_NAME).where(Products.PRODUCT_ID).lt(0);
+        productIds = MyDBOverseer.get().getIntColumn(mStatement);
+        assertNotNull(productIds);
+        assertEquals(0, productIds.length);
+    }
+
     public void testGetListBySpecifyTheEntityClass() {
         mStatement = QueryStatement.produce().from(Categories.TABLE_NAME);
 
@@ -100,6 +168,95 @@ public class DBOverseerTest extends BaseDBTestCase {
         }
     }
 
+    public void testForEach() {
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME).orderBy(Products.PRODUCT_ID);
+        final double[] totalPrice = new double[1];
+        int rowCount = MyDBOverseer.get().forEach(mStatement, Product.class, new RowCallback<Product>() {
+            @Override
+            public boolean onRow(Product row) {
+                totalPrice[0] += row.getPrice();
+                return true;
+            }
+        });
+        assertEquals(Products.INIT_DATAS.size(), rowCount);
+
+        double expectedPrice = 0;
+        for (Product product : Products.INIT_DATAS) {
+            expectedPrice += product.getPrice();
+        }
+        assertEquals(expectedPrice, totalPrice[0], 0.001);
+
+        // terminating at the third row.
+        rowCount = MyDBOverseer.get().forEach(mStatement, Product.class, new RowCallback<Product>() {
+            @Override
+            public boolean onRow(Product row) {
+                return row.getProductId() < 3;
+            }
+        });
+        assertEquals(3, rowCount);
+    }
+
+    public void testIterate() {
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME).orderBy(Products.PRODUCT_ID);
+        RowIterator<Product> iterator = MyDBOverseer.get().iterate(mStatement, Product.class);
+        try {
+            int index = 0;
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                assertEquals(Products.INIT_DATAS.get(index++).getProductId(), product.getProductId());
+            }
+            assertEquals(Products.INIT_DATAS.size(), index);
+            assertFalse(iterator.hasNext());
+        } finally {
+            iterator.close();
+        }
+        assertEquals(0, MyDBOverseer.get().getLeaseCount());
+
+        // the lease would be returned as well when the iteration terminated early.
+        iterator = MyDBOverseer.get().iterate(mStatement, Product.class);
+        try {
+            assertTrue(iterator.hasNext());
+            assertEquals(1, iterator.next().getProductId());
+        } finally {
+            iterator.close();
+        }
+        assertEquals(0, MyDBOverseer.get().getLeaseCount());
+    }
+
+    public void testGetCursorList() {
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME).orderBy(Products.PRODUCT_ID);
+        CursorList<Product> productList = MyDBOverseer.get().getCursorList(mStatement, new Product_RowMapper(), 10);
+        try {
+            assertEquals(Products.INIT_DATAS.size(), productList.size());
+
+            // accessing backward to ensure the rows are mapped by position.
+            for (int i = productList.size() - 1; i >= 0; i--) {
+                Product product = productList.get(i);
+                assertEquals(Products.INIT_DATAS.get(i).getProductId(), product.getProductId());
+                assertEquals(Products.INIT_DATAS.get(i).getProductName(), product.getProductName());
+            }
+
+            // the recently accessed entity would be cached.
+            assertSame(productList.get(0), productList.get(0));
+        } finally {
+            productList.close();
+        }
+
+        assertTrue(productList.isClosed());
+        assertEquals(0, MyDBOverseer.get().getLeaseCount());
+        try {
+            productList.get(0);
+            fail("Getting from a closed CursorList should throw.");
+        } catch (IllegalStateException ignored) {
+        }
+
+        // the error raised while filling the first window("integer overflow") giving an empty list, without leaking.
+        productList = MyDBOverseer.get().getCursorList("SELECT abs(-9223372036854775807 - 1)", new Product_RowMapper(), 10);
+        assertEquals(0, productList.size());
+        assertTrue(productList.isClosed());
+        assertEquals(0, MyDBOverseer.get().getLeaseCount());
+    }
+
     public void testGetPaginationList() {
         mStatement = QueryStatement.produce().from(Products.TABLE_NAME);
 
@@ -131,4 +288,826 @@ public class DBOverseerTest extends BaseDBTestCase {
         } while (productList.hasNextPage());
     }
 
+    public void testCountCache() {
+        MyDBOverseer.get().setCountCacheSize(8);
+        try {
+            mStatement = QueryStatement.produce().from(Products.TABLE_NAME).where(Products.CATEGORY_ID).eq(1);
+            int rowCount = MyDBOverseer.get().getRowCount(mStatement);
+            assertGreatThan(rowCount, 0);
+            assertEquals(rowCount, MyDBOverseer.get().getRowCount(mStatement));
+
+            CountCache cache = MyDBOverseer.get().getCountCache();
+            assertEquals(1, cache.missCount());
+            assertEquals(1, cache.hitCount());
+
+            // writing an unrelated table wouldn't drop the count.
+            MyDBOverseer.get().executeSql(DeleteStatement.produce(Customers.TABLE_NAME));
+            assertEquals(1, cache.size());
+
+            MyDBOverseer.get().executeSql(DeleteStatement.produce(Products.TABLE_NAME)
+                    .where(Products.CATEGORY_ID).eq(1).and(Products.PRODUCT_ID).eq(1));
+            assertEquals(0, cache.size());
+            assertEquals(rowCount - 1, MyDBOverseer.get().getRowCount(mStatement));
+
+            // the capped count.
+            mStatement = QueryStatement.produce().from(Products.TABLE_NAME);
+            assertEquals(10, MyDBOverseer.get().getRowCount(mStatement, 10));
+            assertEquals(Products.INIT_DATAS.size() - 1, MyDBOverseer.get().getRowCount(mStatement, 1000));
+
+            PaginationList<Product> productList = MyDBOverseer.get().getPaginationList(mStatement, 1, 5, 20, Product.class);
+            assertEquals(5, productList.size());
+            assertEquals(20, productList.getTotalItemCount());
+            assertEquals(4, productList.getTotalPageCount());
+
+            // the tables of String SQL are parsed.
+            assertGreatThan(cache.size(), 0);
+            MyDBOverseer.get().executeSql("DELETE FROM " + Customers.TABLE_NAME);
+            assertGreatThan(cache.size(), 0);
+            MyDBOverseer.get().executeSql("UPDATE " + Products.TABLE_NAME + " SET " + Products.PRICE + " = 1 WHERE 0");
+            assertEquals(0, cache.size());
+        } finally {
+            MyDBOverseer.get().setCountCacheSize(0);
+        }
+
+        assertEquals(Products.INIT_DATAS.size() - 1, MyDBOverseer.get().getApproximateRowCount(Products.TABLE_NAME));
+    }
+
+    public void testPaginationStrategies() {
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME)
+                .where(Products.PRICE).gt(20).orderBy(Products.PRICE).desc();
+        int totalItemCount = MyDBOverseer.get().getRowCount(mStatement);
+        assertGreatThan(totalItemCount, 10);
+
+        List<PaginationStrategy> strategies = new ArrayList<PaginationStrategy>();
+        strategies.add(PaginationStrategy.COUNT_QUERY);
+        strategies.add(PaginationStrategy.AUTO);
+        if (MyDBOverseer.get().isWindowFunctionSupported()) {
+            strategies.add(PaginationStrategy.WINDOW_FUNCTION);
+        }
+
+        try {
+            for (PaginationStrategy strategy : strategies) {
+                MyDBOverseer.get().setPaginationStrategy(strategy);
+
+                PaginationList<Product> productList = MyDBOverseer.get().getPaginationList(mStatement, 2, 5, Product.class);
+                assertEquals(totalItemCount, productList.getTotalItemCount());
+                assertEquals(5, productList.size());
+                assertGreatThan((int) productList.get(0).getPrice(), 20);
+                assertTrue(productList.get(0).getPrice() >= productList.get(4).getPrice());
+
+                // beyond the last page.
+                productList = MyDBOverseer.get().getPaginationList(mStatement, 100, 5, Product.class);
+                assertEquals(totalItemCount, productList.getTotalItemCount());
+                assertEquals(0, productList.size());
+            }
+        } finally {
+            MyDBOverseer.get().setPaginationStrategy(PaginationStrategy.AUTO);
+        }
+    }
+
+    public void testPagePrefetch() {
+        MyDBOverseer.get().setPagePrefetch(4);
+        try {
+            mStatement = QueryStatement.produce().from(Products.TABLE_NAME).orderBy(Products.PRODUCT_ID);
+            PaginationList<Product> productList = MyDBOverseer.get().getPaginationList(mStatement, 1, 5, Product.class);
+            assertEquals(5, productList.size());
+            assertTrue(productList.hasNextPage());
+
+            QueryCache<?> cache = MyDBOverseer.get().getPageCache();
+            assertEquals(1, cache.size());
+
+            // the second page is taken from the prefetched one.
+            productList = MyDBOverseer.get().getPaginationList(mStatement, 2, 5, Product.class);
+            assertEquals(5, productList.size());
+            assertEquals(1, cache.hitCount());
+            assertEquals(Products.INIT_DATAS.size(), productList.getTotalItemCount());
+
+            // the third page was prefetched, writing the table would drop it.
+            assertEquals(1, cache.size());
+            MyDBOverseer.get().executeSql(DeleteStatement.produce(Products.TABLE_NAME).where(Products.PRODUCT_ID).eq(1));
+            assertEquals(0, cache.size());
+
+            productList = MyDBOverseer.get().getPaginationList(mStatement, 3, 5, Product.class);
+            assertEquals(Products.INIT_DATAS.size() - 1, productList.getTotalItemCount());
+            assertEquals(1, cache.hitCount());
+        } finally {
+            MyDBOverseer.get().setPagePrefetch(0);
+        }
+    }
+
+    public void testWriteAheadLogging() throws Exception {
+        if (!MyDBOverseer.get().enableWriteAheadLogging(4)) return;
+        assertTrue(MyDBOverseer.get().isWriteAheadLoggingEnabled());
+        assertEquals("wal", MyDBOverseer.get().getString("PRAGMA journal_mode"));
+
+        final int productCount = MyDBOverseer.get().getRowCount(QueryStatement.produce().from(Products.TABLE_NAME));
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        Thread[] readers = new Thread[8];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int j = 0; j < 20; j++) {
+                            List<Product> productList = MyDBOverseer.get().getList(
+                                    QueryStatement.produce().from(Products.TABLE_NAME), Product.class);
+                            assertEquals(productCount, productList.size());
+                        }
+                    } catch (Throwable e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                }
+            };
+            readers[i].start();
+        }
+
+        // writing while those threads reading.
+        MyDBOverseer.get().executeSql(DeleteStatement.produce(Customers.TABLE_NAME));
+
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(0, MyDBOverseer.get().getLeaseCount());
+    }
+
+    public void testAsyncOperations() throws Exception {
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME).where(Products.CATEGORY_ID).eq(1);
+        Future<List<Product>> listFuture = MyDBOverseer.get().getListAsync(mStatement, Product.class);
+        // changing the statement after submitted wouldn't affect the operation.
+        mStatement.and(Products.PRODUCT_ID).eq(-1);
+
+        List<Product> productList = listFuture.get(5, TimeUnit.SECONDS);
+        assertGreatThan(productList.size(), 0);
+
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME).where(Products.PRODUCT_ID).eq(productList.get(0).getProductId());
+        Future<Integer> deleteFuture = MyDBOverseer.get().executeSqlAsync(DeleteStatement.produce(Products.TABLE_NAME)
+                .where(Products.PRODUCT_ID).eq(productList.get(0).getProductId()));
+        // the writes are serialised, the read submitted later would see the deletion once it completed.
+        assertEquals(1, deleteFuture.get(5, TimeUnit.SECONDS).intValue());
+        assertNull(MyDBOverseer.get().getEntityAsync(mStatement, Product.class).get(5, TimeUnit.SECONDS));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<PaginationList<Product>> results = new ArrayList<PaginationList<Product>>();
+        MyDBOverseer.get().getPaginationListAsync(QueryStatement.produce().from(Products.TABLE_NAME), 1, 5, Product.class,
+                new DBCallback<PaginationList<Product>>() {
+                    @Override
+                    public void onResult(PaginationList<Product> result) {
+                        results.add(result);
+                        latch.countDown();
+                    }
+                });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(5, results.get(0).size());
+        assertEquals(Products.INIT_DATAS.size() - 1, results.get(0).getTotalItemCount());
+
+        // the pending columns of the put() insert are taken into the snapshot.
+        Future<Long> insertFuture = MyDBOverseer.get().executeInsertAsync(CreateStatement.produce(Customers.TABLE_NAME)
+                .binding().put(Customers.CUST_CODE, "C00009").put(Customers.CUST_NAME, "Vince"));
+        long rowId = insertFuture.get(5, TimeUnit.SECONDS);
+        assertGreatThan((int) rowId, 0);
+        mStatement = QueryStatement.produce().from(Customers.TABLE_NAME).where(Customers.CUST_CODE).eq("C00009");
+        assertEquals("Vince", MyDBOverseer.get().getEntity(mStatement, Customer.class).getCustName());
+        assertEquals(1, MyDBOverseer.get().executeSqlAsync(DeleteStatement.produce(Customers.TABLE_NAME)
+                .where(Customers.CUST_CODE).eq("C00009")).get(5, TimeUnit.SECONDS).intValue());
+    }
+
+    public void testGroupCommit() throws Exception {
+        int commitCount = MyDBOverseer.get().getGroupCommitCount();
+        int writeCount = MyDBOverseer.get().getGroupedWriteCount();
+
+        MyDBOverseer.get().setGroupCommit(100, 10);
+        try {
+            List<Future<Long>> futures = new ArrayList<Future<Long>>();
+            for (int i = 0; i < 25; i++) {
+                futures.add(MyDBOverseer.get().executeInsertAsync(CreateStatement.produce(Customers.TABLE_NAME)
+                        .put(Customers.CUST_CODE, "C" + i).put(Customers.CUST_NAME, "Vince")));
+            }
+
+            Set<Long> rowIds = new HashSet<Long>();
+            for (Future<Long> future : futures) {
+                long rowId = future.get(5, TimeUnit.SECONDS);
+                assertGreatThan((int) rowId, 0);
+                rowIds.add(rowId);
+            }
+            // every write has its own row id, and inserted its own columns.
+            assertEquals(25, rowIds.size());
+            assertEquals(25, MyDBOverseer.get().getRowCount(QueryStatement.produce().from(Customers.TABLE_NAME)
+                    .where(Customers.CUST_NAME).eq("Vince")));
+
+            // a failed write wouldn't affect the others in the same group.
+            Future<Integer> failedFuture = MyDBOverseer.get().executeSqlAsync("DELETE FROM not_exists_table");
+            Future<Integer> deleteFuture = MyDBOverseer.get().executeSqlAsync(DeleteStatement.produce(Customers.TABLE_NAME)
+                    .where(Customers.CUST_NAME).eq("Vince"));
+            assertEquals(0, failedFuture.get(5, TimeUnit.SECONDS).intValue());
+            assertEquals(25, deleteFuture.get(5, TimeUnit.SECONDS).intValue());
+        } finally {
+            MyDBOverseer.get().setGroupCommit(0, 0);
+        }
+
+        assertEquals(27, MyDBOverseer.get().getGroupedWriteCount() - writeCount);
+        // at least three groups of ten writes, the exact number depends on the timing.
+        assertGreatThan(MyDBOverseer.get().getGroupCommitCount() - commitCount, 2);
+    }
+
+    public void testInTransaction() {
+        final Statement countSql = QueryStatement.rowCount().from(Customers.TABLE_NAME);
+        final int originCount = MyDBOverseer.get().getInt(countSql);
+        Integer rowCount = MyDBOverseer.get().inTransaction(new TransactionCallback<Integer>() {
+            @Override
+            public Integer perform(DBOverseer overseer) throws Exception {
+                long rowId = overseer.executeInsert(CreateStatement.produce(Customers.TABLE_NAME)
+                        .put(Customers.CUST_CODE, "C00009").put(Customers.CUST_NAME, "Vince"));
+                assertGreatThan((int) rowId, 0);
+                assertEquals(1, overseer.executeSql(UpdateStatement.produce(Customers.TABLE_NAME)
+                        .set(Customers.CUST_CITY, "ZhuHai").where(Customers.CUST_CODE).eq("C00009")));
+                return overseer.getInt(countSql);
+            }
+        });
+        assertEquals(originCount + 1, rowCount.intValue());
+        assertEquals(originCount + 1, MyDBOverseer.get().getInt(countSql));
+
+        // throwing to rolling back.
+        rowCount = MyDBOverseer.get().inTransaction(TransactionMode.EXCLUSIVE, new TransactionCallback<Integer>() {
+            @Override
+            public Integer perform(DBOverseer overseer) throws Exception {
+                overseer.executeSql(DeleteStatement.produce(Customers.TABLE_NAME));
+                assertEquals(0, overseer.getInt(countSql));
+                throw new IllegalStateException("rollback");
+            }
+        });
+        assertNull(rowCount);
+        assertEquals(originCount + 1, MyDBOverseer.get().getInt(countSql));
+
+        // the failure of nested scope only rolling back its own changes.
+        MyDBOverseer.get().inTransaction(new TransactionCallback<Void>() {
+            @Override
+            public Void perform(DBOverseer overseer) throws Exception {
+                overseer.executeInsert(CreateStatement.produce(Customers.TABLE_NAME)
+                        .put(Customers.CUST_CODE, "C00016").put(Customers.CUST_NAME, "Styling"));
+
+                Object nested = overseer.inTransaction(new TransactionCallback<Object>() {
+                    @Override
+                    public Object perform(DBOverseer nestedOverseer) throws Exception {
+                        nestedOverseer.executeSql(DeleteStatement.produce(Customers.TABLE_NAME));
+                        throw new IllegalStateException("rollback to savepoint");
+                    }
+                });
+                assertNull(nested);
+                assertEquals(originCount + 2, overseer.getInt(countSql));
+                return null;
+            }
+        });
+        assertEquals(originCount + 2, MyDBOverseer.get().getInt(countSql));
+    }
+
+    public void testNestedRollbackKeepsOuterTransaction() {
+        final Statement countSql = QueryStatement.rowCount().from(Customers.TABLE_NAME);
+        final int originCount = MyDBOverseer.get().getInt(countSql);
+
+        // the outer transaction still alive after a nested scope rolled back, the later writes and the commit succeed.
+        Boolean committed = MyDBOverseer.get().inTransaction(new TransactionCallback<Boolean>() {
+            @Override
+            public Boolean perform(DBOverseer overseer) throws Exception {
+                Object nested = overseer.inTransaction(new TransactionCallback<Object>() {
+                    @Override
+                    public Object perform(DBOverseer nestedOverseer) throws Exception {
+                        nestedOverseer.executeInsert(CreateStatement.produce(Customers.TABLE_NAME)
+                                .put(Customers.CUST_CODE, "C00011").put(Customers.CUST_NAME, "Rollback"));
+                        throw new IllegalStateException("rollback to savepoint");
+                    }
+                });
+                assertNull(nested);
+                assertEquals(originCount, overseer.getInt(countSql));
+
+                overseer.executeInsert(CreateStatement.produce(Customers.TABLE_NAME)
+                        .put(Customers.CUST_CODE, "C00026").put(Customers.CUST_NAME, "Outer"));
+                Boolean released = overseer.inTransaction(new TransactionCallback<Boolean>() {
+                    @Override
+                    public Boolean perform(DBOverseer nestedOverseer) throws Exception {
+                        nestedOverseer.executeInsert(CreateStatement.produce(Customers.TABLE_NAME)
+                                .put(Customers.CUST_CODE, "C00027").put(Customers.CUST_NAME, "Nested"));
+                        return true;
+                    }
+                });
+                assertTrue(released);
+                return true;
+            }
+        });
+        assertTrue(committed);
+        assertEquals(originCount + 2, MyDBOverseer.get().getInt(countSql));
+        assertFalse(MyDBOverseer.get().checkIfExists(QueryStatement.produce().from(Customers.TABLE_NAME)
+                .where(Customers.CUST_CODE).eq("C00011")));
+    }
+
+    public void testRetryPolicy() throws Exception {
+        RetryPolicy policy = new RetryPolicy(10, 100, 5000);
+        for (int attempt = 0; attempt < 10; attempt++) {
+            long backoff = Math.min(100, 10 << attempt);
+            long delay = policy.nextDelay(attempt, 0);
+            assertTrue(delay >= backoff / 2 && delay <= backoff);
+        }
+        // never exceeding the deadline.
+        assertEquals(30, policy.nextDelay(9, 4970));
+        assertEquals(-1, policy.nextDelay(0, 5000));
+
+        // another connection holding the lock longer than the busy timeout of the platform.
+        final SQLiteDatabase locker = SQLiteDatabase.openDatabase(
+                getContext().getDatabasePath("asqliteplus.db").getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+        locker.execSQL("BEGIN EXCLUSIVE");
+        Thread unlocker = new Thread() {
+            @Override
+            public void run() {
+                SystemClock.sleep(3000);
+                locker.execSQL("COMMIT");
+                locker.close();
+            }
+        };
+        unlocker.start();
+
+        MyDBOverseer.get().setRetryPolicy(policy);
+        try {
+            assertEquals(1, MyDBOverseer.get().executeSql(DeleteStatement.produce(Products.TABLE_NAME)
+                    .where(Products.PRODUCT_ID).eq(1)));
+        } finally {
+            MyDBOverseer.get().setRetryPolicy(null);
+            unlocker.join();
+        }
+
+        assertGreatThan(policy.busyCount(), 0);
+        assertEquals(policy.busyCount(), policy.retryCount());
+        assertEquals(0, policy.giveUpCount());
+        // the wait counting from the first attempt, which blocked inside SQLite until the lock was released.
+        assertTrue(policy.waitTime() >= 2000);
+
+        // only the outermost beginning of a transaction scope is retried, never the operations inside it.
+        final RetryPolicy scopePolicy = new RetryPolicy(10, 100, 5000);
+        final SQLiteDatabase scopeLocker = SQLiteDatabase.openDatabase(
+                getContext().getDatabasePath("asqliteplus.db").getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+        scopeLocker.execSQL("BEGIN EXCLUSIVE");
+        unlocker = new Thread() {
+            @Override
+            public void run() {
+                SystemClock.sleep(3000);
+                scopeLocker.execSQL("COMMIT");
+                scopeLocker.close();
+            }
+        };
+        unlocker.start();
+
+        MyDBOverseer.get().setRetryPolicy(scopePolicy);
+        final AtomicInteger retriesInScope = new AtomicInteger(-1);
+        try {
+            Boolean committed = MyDBOverseer.get().inTransaction(new TransactionCallback<Boolean>() {
+                @Override
+                public Boolean perform(DBOverseer overseer) throws Exception {
+                    int retryCount = scopePolicy.retryCount();
+                    overseer.executeSql(DeleteStatement.produce(Products.TABLE_NAME).where(Products.PRODUCT_ID).eq(2));
+                    retriesInScope.set(scopePolicy.retryCount() - retryCount);
+                    return true;
+                }
+            });
+            assertTrue(committed);
+        } finally {
+            MyDBOverseer.get().setRetryPolicy(null);
+            unlocker.join();
+        }
+
+        assertGreatThan(scopePolicy.retryCount(), 0);
+        assertEquals(0, retriesInScope.get());
+    }
+
+    public void testResultCache() {
+        MyDBOverseer.get().setResultCacheSize(8);
+        try {
+            mStatement = QueryStatement.produce().from(Categories.TABLE_NAME);
+            List<Category> categoryList = MyDBOverseer.get().getList(mStatement, Category.class);
+            assertGreatThan(categoryList.size(), 0);
+
+            // every hit returns a new list.
+            categoryList.clear();
+            categoryList = MyDBOverseer.get().getList(mStatement, Category.class);
+            assertGreatThan(categoryList.size(), 0);
+
+            QueryCache<Object> cache = MyDBOverseer.get().getResultCache();
+            assertEquals(1, cache.hitCount());
+            assertEquals(1, cache.missCount());
+            assertEquals(1, cache.size());
+            assertGreatThan((int) cache.memorySize(), 0);
+
+            Statement entitySql = QueryStatement.produce().from(Categories.TABLE_NAME)
+                    .where(Categories.CATEGORY_ID).eq(categoryList.get(0).getCategoryId());
+            Category category = MyDBOverseer.get().getEntity(entitySql, Category.class);
+            assertSame(category, MyDBOverseer.get().getEntity(entitySql, Category.class));
+            assertEquals(2, cache.size());
+
+            // writing an unrelated table wouldn't drop the results.
+            MyDBOverseer.get().executeSql(DeleteStatement.produce(Customers.TABLE_NAME));
+            assertEquals(2, cache.size());
+
+            MyDBOverseer.get().executeSql(DeleteStatement.produce(Categories.TABLE_NAME)
+                    .where(Categories.CATEGORY_ID).eq(category.getCategoryId()));
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.memorySize());
+            assertNull(MyDBOverseer.get().getEntity(entitySql, Category.class));
+            assertEquals(categoryList.size() - 1, MyDBOverseer.get().getList(mStatement, Category.class).size());
+
+            // the bind arguments of different types are keyed apart.
+            Statement intSql = QueryStatement.produce().from(Categories.TABLE_NAME).binding()
+                    .where(Categories.CATEGORY_NAME).eq(1);
+            Statement textSql = QueryStatement.produce().from(Categories.TABLE_NAME).binding()
+                    .where(Categories.CATEGORY_NAME).eq("1");
+            assertFalse(QueryCache.buildKey(intSql).equals(QueryCache.buildKey(textSql)));
+            MyDBOverseer.get().getList(intSql, Category.class);
+            MyDBOverseer.get().getList(textSql, Category.class);
+            assertEquals(3, cache.size());
+        } finally {
+            MyDBOverseer.get().setResultCacheSize(0);
+        }
+    }
+
+    public void testIdentityMap() {
+        Alias podAlias = new Alias(Products.TABLE_NAME, "pod");
+        Alias catAlias = new Alias(Categories.TABLE_NAME, "cat");
+        mStatement = QueryStatement.produce(new Scoping(catAlias, "*")).from(podAlias).join(catAlias)
+                .on(new Scoping(podAlias, Products.CATEGORY_ID)).eq(new Scoping(catAlias, Categories.CATEGORY_ID));
+
+        IdentityMap identityMap = new IdentityMap();
+        List<Category> categoryList = MyDBOverseer.get().getList(
+                mStatement, Category.class, identityMap, Categories.CATEGORY_ID);
+        assertEquals(MyDBOverseer.get().getRowCount(mStatement), categoryList.size());
+
+        // each product row has a category, but only the distinct categories are instanced.
+        Set<Category> instances = Collections.newSetFromMap(new IdentityHashMap<Category, Boolean>());
+        instances.addAll(categoryList);
+        Set<Integer> categoryIds = new HashSet<Integer>();
+        for (Category category : categoryList) {
+            categoryIds.add(category.getCategoryId());
+        }
+        assertGreatThan(categoryList.size(), categoryIds.size());
+        assertEquals(categoryIds.size(), instances.size());
+        assertEquals(categoryIds.size(), identityMap.size());
+
+        // sharing the instances across queries within the session.
+        Category category = categoryList.get(0);
+        List<Category> anotherList = MyDBOverseer.get().getList(QueryStatement.produce().from(Categories.TABLE_NAME)
+                .where(Categories.CATEGORY_ID).eq(category.getCategoryId()), Category.class, identityMap, Categories.CATEGORY_ID);
+        assertSame(category, anotherList.get(0));
+
+        identityMap.clear();
+        anotherList = MyDBOverseer.get().getList(QueryStatement.produce().from(Categories.TABLE_NAME)
+                .where(Categories.CATEGORY_ID).eq(category.getCategoryId()), Category.class, identityMap, Categories.CATEGORY_ID);
+        assertNotSame(category, anotherList.get(0));
+
+        // writing the table clears the session map, the later queries don't return the stale instance.
+        category = anotherList.get(0);
+        String categoryName = category.getCategoryName();
+        Statement updateSql = UpdateStatement.produce(Categories.TABLE_NAME).set(Categories.CATEGORY_NAME, "Renamed")
+                .where(Categories.CATEGORY_ID).eq(category.getCategoryId());
+        try {
+            assertEquals(1, MyDBOverseer.get().executeSql(updateSql));
+            assertEquals(0, identityMap.size());
+            assertEquals(1, identityMap.invalidationCount());
+
+            anotherList = MyDBOverseer.get().getList(QueryStatement.produce().from(Categories.TABLE_NAME)
+                    .where(Categories.CATEGORY_ID).eq(category.getCategoryId()), Category.class, identityMap, Categories.CATEGORY_ID);
+            assertNotSame(category, anotherList.get(0));
+            assertEquals("Renamed", anotherList.get(0).getCategoryName());
+
+            // writing an unrelated table keeps the map.
+            MyDBOverseer.get().executeSql(UpdateStatement.produce(Customers.TABLE_NAME)
+                    .set(Customers.CUST_CITY, "ZhuHai").where(Customers.CUST_CODE).eq("C00001"));
+            assertEquals(1, identityMap.size());
+        } finally {
+            MyDBOverseer.get().executeSql(UpdateStatement.produce(Categories.TABLE_NAME)
+                    .set(Categories.CATEGORY_NAME, categoryName).where(Categories.CATEGORY_ID).eq(category.getCategoryId()));
+        }
+    }
+
+    public void testObserveList() throws Exception {
+        final BlockingQueue<List<Category>> results = new LinkedBlockingQueue<List<Category>>();
+        QueryObserver<List<Category>> observer = MyDBOverseer.get().observeList(
+                QueryStatement.produce().from(Categories.TABLE_NAME), Category.class, 100,
+                new DBCallback<List<Category>>() {
+                    @Override
+                    public void onResult(List<Category> result) {
+                        results.add(result);
+                    }
+                });
+        try {
+            int categoryCount = results.poll(5, TimeUnit.SECONDS).size();
+            assertGreatThan(categoryCount, 0);
+
+            // writing an unrelated table wouldn't re-run the query.
+            MyDBOverseer.get().executeSql(DeleteStatement.produce(Customers.TABLE_NAME));
+            assertNull(results.poll(500, TimeUnit.MILLISECONDS));
+
+            // the bursting writes are coalesced, also the String SQL's tables are parsed.
+            MyDBOverseer.get().executeSql(DeleteStatement.produce(Categories.TABLE_NAME).where(Categories.CATEGORY_ID).eq(1));
+            MyDBOverseer.get().executeSql("DELETE FROM " + Categories.TABLE_NAME + " WHERE " + Categories.CATEGORY_ID + " = 2");
+            assertEquals(categoryCount - 2, results.poll(5, TimeUnit.SECONDS).size());
+            assertNull(results.poll(500, TimeUnit.MILLISECONDS));
+            assertEquals(2, observer.getRunCount());
+        } finally {
+            observer.cancel();
+        }
+
+        MyDBOverseer.get().executeSql(DeleteStatement.produce(Categories.TABLE_NAME));
+        assertNull(results.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    public void testSingleFlight() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        final Set<String> tables = Collections.singleton(Products.TABLE_NAME.toLowerCase());
+
+        // the caller arrived while the query running shares the result, the array is copied.
+        SlowQuery query = new SlowQuery(new int[]{1, 2}, false);
+        Object[] results = executeConcurrently(singleFlight, tables, query);
+        assertNotSame(results[0], results[1]);
+        assertEquals(2, ((int[]) results[0]).length);
+        assertEquals(2, ((int[]) results[1]).length);
+        assertEquals(1, query.callCount.get());
+        assertEquals(1, singleFlight.executionCount());
+        assertEquals(1, singleFlight.sharedCount());
+
+        // the null result, e.g. no row found, is shared as well.
+        query = new SlowQuery(null, false);
+        results = executeConcurrently(singleFlight, tables, query);
+        assertNull(results[0]);
+        assertNull(results[1]);
+        assertEquals(1, query.callCount.get());
+        assertEquals(2, singleFlight.sharedCount());
+        assertEquals(0, singleFlight.failedCount());
+
+        // only if the leading query threw, the waiting caller performing by itself.
+        query = new SlowQuery(new int[]{3}, true);
+        results = executeConcurrently(singleFlight, tables, query);
+        assertTrue(results[0] instanceof IllegalStateException);
+        assertEquals(1, ((int[]) results[1]).length);
+        assertEquals(2, query.callCount.get());
+        assertEquals(1, singleFlight.failedCount());
+
+        // the query is detached once its table was written, the later caller performing by itself.
+        final SingleFlight detaching = new SingleFlight();
+        final SlowQuery detachingQuery = new SlowQuery(new int[]{4}, false);
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread leader = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    detaching.execute("key", tables, detachingQuery);
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            }
+        };
+        leader.start();
+        assertTrue(detachingQuery.leading.await(5, TimeUnit.SECONDS));
+        detaching.invalidate(Collections.singleton(Categories.TABLE_NAME.toLowerCase()));
+        assertEquals(1, detaching.size());
+        detaching.invalidate(tables);
+        assertEquals(0, detaching.size());
+        detaching.execute("key", tables, detachingQuery);
+        detachingQuery.release.countDown();
+        leader.join(5000);
+        assertNull(error.get());
+        assertEquals(2, detaching.executionCount());
+        assertEquals(0, detaching.sharedCount());
+
+        MyDBOverseer.get().setSingleFlight(true);
+        try {
+            final int callerCount = 8;
+            final Statement sql = QueryStatement.produce().from(Products.TABLE_NAME);
+            final int productCount = MyDBOverseer.get().getList(sql, Product.class).size();
+            final CountDownLatch start = new CountDownLatch(1);
+            final BlockingQueue<List<Product>> lists = new LinkedBlockingQueue<List<Product>>();
+            Thread[] callers = new Thread[callerCount];
+            for (int i = 0; i < callerCount; i++) {
+                callers[i] = new Thread() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                            lists.add(MyDBOverseer.get().getList(sql, Product.class));
+                        } catch (Throwable e) {
+                            error.set(e);
+                        }
+                    }
+                };
+                callers[i].start();
+            }
+            start.countDown();
+            for (Thread caller : callers) {
+                caller.join(5000);
+            }
+            assertNull(error.get());
+
+            Set<List<Product>> distinct = Collections.newSetFromMap(new IdentityHashMap<List<Product>, Boolean>());
+            for (List<Product> list : lists) {
+                assertEquals(productCount, list.size());
+                distinct.add(list);
+            }
+            assertEquals(callerCount, distinct.size());
+
+            SingleFlight overseerFlight = MyDBOverseer.get().getSingleFlight();
+            assertEquals(callerCount + 1, overseerFlight.executionCount() + overseerFlight.sharedCount());
+            assertEquals(0, overseerFlight.size());
+        } finally {
+            MyDBOverseer.get().setSingleFlight(false);
+        }
+    }
+
+    /**
+     * Performing the query in two threads, the second one arrives while the first one leading the query.
+     *
+     * @return the result or the error of each thread.
+     */
+    private static Object[] executeConcurrently(final SingleFlight singleFlight, final Set<String> tables,
+                                                final SlowQuery query) throws Exception {
+        final Object[] results = new Object[2];
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread[] callers = new Thread[results.length];
+        for (int i = 0; i < callers.length; i++) {
+            final int index = i;
+            callers[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        results[index] = singleFlight.execute("key", tables, query);
+                    } catch (IllegalStateException e) {
+                        // the expected failure of the leading query.
+                        results[index] = e;
+                    } catch (Throwable e) {
+                        error.set(e);
+                    }
+                }
+            };
+        }
+
+        callers[0].start();
+        assertTrue(query.leading.await(5, TimeUnit.SECONDS));
+        callers[1].start();
+        // letting the second caller waiting for the running query.
+        SystemClock.sleep(200);
+        assertEquals(1, singleFlight.size());
+
+        query.release.countDown();
+        for (Thread caller : callers) {
+            caller.join(5000);
+        }
+        assertNull(error.get());
+        assertEquals(0, singleFlight.size());
+        return results;
+    }
+
+    /**
+     * A query which blocking its first call until released, the later calls return immediately.
+     */
+    private static class SlowQuery implements Callable<Object> {
+        final CountDownLatch leading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger callCount = new AtomicInteger();
+        final Object result;
+        final boolean failFirst;
+
+        SlowQuery(Object result, boolean failFirst) {
+            this.result = result;
+            this.failFirst = failFirst;
+        }
+
+        @Override
+        public Object call() throws Exception {
+            if (callCount.getAndIncrement() > 0) return result;
+            leading.countDown();
+            release.await();
+            if (failFirst) throw new IllegalStateException("leading query failed");
+            return result;
+        }
+    }
+
+    public void testGetSeekPaginationList() {
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME);
+        String[] keyColumns = {Products.PRODUCT_ID};
+
+        int pageCount = 0;
+        int pageItemCount = 10;
+        Object[] lastKeys = null;
+        SeekPaginationList<Product> productList;
+        do {
+            productList = MyDBOverseer.get().getSeekPaginationList(
+                    mStatement, keyColumns, lastKeys, pageItemCount, Product.class);
+            assertNotNull(productList);
+
+            for (int i = 0; i < productList.size(); i++) {
+                Product cpaProduct = Products.INIT_DATAS.get(pageCount * pageItemCount + i);
+                assertEquals(cpaProduct.getProductId(), productList.get(i).getProductId());
+            }
+
+            pageCount++;
+            lastKeys = productList.getLastKeys();
+        } while (productList.hasNextPage());
+
+        assertEquals((Products.INIT_DATAS.size() - 1) / pageItemCount + 1, pageCount);
+
+        // the tuple key in descending order.
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME);
+        List<Product> expectedList = MyDBOverseer.get().getList(
+                QueryStatement.produce().from(Products.TABLE_NAME).orderBy(
+                        Products.PRICE + " DESC", Products.PRODUCT_ID + " DESC"), Product.class);
+
+        keyColumns = new String[]{Products.PRICE, Products.PRODUCT_ID};
+        lastKeys = null;
+        int index = 0;
+        do {
+            productList = MyDBOverseer.get().getSeekPaginationList(
+                    mStatement, keyColumns, lastKeys, true, 7, new Product_RowMapper());
+            for (Product product : productList) {
+                assertEquals(expectedList.get(index++).getProductId(), product.getProductId());
+            }
+            lastKeys = productList.getLastKeys();
+        } while (productList.hasNextPage());
+        assertEquals(expectedList.size(), index);
+    }
+
+    public void testExecuteBatchByBinder() {
+        mStatement = DeleteStatement.produce(Products.TABLE_NAME);
+        MyDBOverseer.get().executeSql(mStatement);
+
+        assertTrue(MyDBOverseer.get().executeBatch(Products.INIT_DATAS, Products.CREATE_DBBINDER));
+
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME);
+        List<Product> productList = MyDBOverseer.get().getList(mStatement, Product.class);
+        assertEquals(Products.INIT_DATAS.size(), productList.size());
+
+        for (int i = 0; i < productList.size(); i++) {
+            Product product = productList.get(i);
+            Product cpaProduct = Products.INIT_DATAS.get(i);
+
+            assertEquals(cpaProduct.getProductId(), product.getProductId());
+            assertEquals(cpaProduct.getProductName(), product.getProductName());
+            assertEquals(cpaProduct.getPrice(), product.getPrice(), 0);
+        }
+    }
+
+    public void testGeneratedEntityMapping() {
+        mStatement = DeleteStatement.produce(Products.TABLE_NAME);
+        MyDBOverseer.get().executeSql(mStatement);
+
+        // both interfaces implemented by the generated operators, declaring which style to performing.
+        DBBinder<Product> binder = new Product_InsertOperator();
+        assertTrue(MyDBOverseer.get().executeBatch(Products.INIT_DATAS, binder));
+
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME);
+        List<Product> productList = MyDBOverseer.get().getList(mStatement, new Product_RowMapper());
+        assertEquals(Products.INIT_DATAS.size(), productList.size());
+
+        for (int i = 0; i < productList.size(); i++) {
+            Product product = productList.get(i);
+            Product cpaProduct = Products.INIT_DATAS.get(i);
+
+            assertEquals(cpaProduct.getProductId(), product.getProductId());
+            assertEquals(cpaProduct.getProductName(), product.getProductName());
+            assertEquals(cpaProduct.getSupplierId(), product.getSupplierId());
+            assertEquals(cpaProduct.getCategoryId(), product.getCategoryId());
+            assertEquals(cpaProduct.getUnit(), product.getUnit());
+            assertEquals(cpaProduct.getPrice(), product.getPrice(), 0);
+        }
+
+        Product product = productList.get(0);
+        product.setPrice(99.9);
+        DBOperator<Product> operator = new Product_UpdateOperator();
+        assertEquals(1, MyDBOverseer.get().executeSql(operator.produce(product)));
+
+        mStatement = QueryStatement.produce(Products.PRODUCT_ID, Products.PRICE)
+                .from(Products.TABLE_NAME).where(Products.PRODUCT_ID).eq(product.getProductId());
+        Product updated = MyDBOverseer.get().getEntity(mStatement, new Product_RowMapper());
+        assertEquals(99.9, updated.getPrice(), 0);
+        assertNull(updated.getProductName());
+    }
+
+    public void testStatementCache() {
+        MyDBOverseer.get().setStatementCacheSize(1);
+        try {
+            for (int i = 0; i < 3; i++) {
+                mStatement = UpdateStatement.produce(Products.TABLE_NAME).binding()
+                        .set(Products.PRICE, 10 + i).where(Products.PRODUCT_ID).eq(i + 1);
+                assertEquals(1, MyDBOverseer.get().executeSql(mStatement));
+            }
+
+            StatementCache cache = MyDBOverseer.get().getStatementCache();
+            assertEquals(1, cache.missCount());
+            assertEquals(2, cache.hitCount());
+            assertEquals(0, cache.evictionCount());
+
+            // a different SQL text would evict the least recently used one.
+            mStatement = DeleteStatement.produce(Products.TABLE_NAME).binding().where(Products.PRODUCT_ID).eq(1);
+            assertEquals(1, MyDBOverseer.get().executeSql(mStatement));
+            assertEquals(1, cache.evictionCount());
+            assertEquals(1, cache.size());
+        } finally {
+            MyDBOverseer.get().setStatementCacheSize(0);
+        }
+    }
 }
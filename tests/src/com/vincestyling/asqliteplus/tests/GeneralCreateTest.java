@@ -23,6 +23,10 @@ import com.vincestyling.asqliteplus.statement.Statement;
 import com.vincestyling.asqliteplus.table.Suppliers;
 import com.vincestyling.asqliteplus.table.Table;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class GeneralCreateTest extends BaseDBTestCase {
     @Override
     protected void setUpDB() throws Exception {
@@ -142,6 +146,115 @@ public class GeneralCreateTest extends BaseDBTestCase {
         assertEquals(beforeRowCount + comingRowCount, afterRowCount);
     }
 
+    public void testBindingMode() {
+        Supplier supplier = Suppliers.INIT_DATAS.get(5);
+        mStatement = CreateStatement.produce(Suppliers.TABLE_NAME).binding()
+                .put(Suppliers.SUPPLIER_NAME, supplier.getSupplierName())
+                .put(Suppliers.CONTACT_NAME, supplier.getContactName())
+                .put(Suppliers.ADDRESS, supplier.getAddress())
+                .put(Suppliers.CITY, supplier.getCity())
+                .put(Suppliers.POSTAL_CODE, supplier.getPostalCode())
+                .put(Suppliers.COUNTRY, supplier.getCountry())
+                .put(Suppliers.PHONE, supplier.getPhone());
+
+        assertSQLEquals("INSERT INTO Suppliers(supplier_name, contact_name, address, city, " +
+                "postal_code, country, phone) VALUES(?, ?, ?, ?, ?, ?, ?)");
+        assertEquals(7, mStatement.getBindArgs().length);
+
+        int newSupplierId = (int) MyDBOverseer.get().executeInsert(mStatement);
+        assertGreatThan(newSupplierId, 0);
+
+        mStatement = QueryStatement.produce().from(Suppliers.TABLE_NAME).binding()
+                .where(Suppliers.SUPPLIER_ID).eq(newSupplierId);
+        Supplier freshSupplier = MyDBOverseer.get().getEntity(mStatement, Supplier.class);
+
+        assertSuppliersEquals(freshSupplier, supplier);
+    }
+
+    public void testCopyPendingColumns() {
+        Supplier supplier = Suppliers.INIT_DATAS.get(5);
+        CreateStatement stmt = CreateStatement.produce(Suppliers.TABLE_NAME).binding()
+                .put(Suppliers.SUPPLIER_NAME, supplier.getSupplierName())
+                .put(Suppliers.CITY, supplier.getCity());
+
+        // the copy taking the columns and values which haven't been rendered yet.
+        mStatement = stmt.copy();
+        assertSQLEquals("INSERT INTO Suppliers(supplier_name, city) VALUES(?, ?)");
+        assertEquals(2, mStatement.getBindArgs().length);
+        assertEquals(stmt.toString(), mStatement.toString());
+    }
+
+    public void testMultiRowValues() {
+        mStatement = CreateStatement.produce(Suppliers.TABLE_NAME)
+                .columns(Suppliers.SUPPLIER_NAME, Suppliers.CITY)
+                .values("Exotic Liquid", "Londona").values("Tokyo Traders", "Tokyo");
+
+        assertSQLEquals("INSERT INTO Suppliers(supplier_name, city) " +
+                "VALUES('Exotic Liquid', 'Londona'), ('Tokyo Traders', 'Tokyo')");
+
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (Supplier supplier : Suppliers.INIT_DATAS) {
+            rows.add(new Object[]{supplier.getSupplierName(), supplier.getContactName(),
+                    supplier.getCity(), supplier.getCountry()});
+        }
+
+        // limit to 40 variables thus every chunk could only holding 10 rows.
+        List<CreateStatement> chunks = CreateStatement.produce(Suppliers.TABLE_NAME).binding()
+                .columns(Suppliers.SUPPLIER_NAME, Suppliers.CONTACT_NAME, Suppliers.CITY, Suppliers.COUNTRY)
+                .valuesInChunks(rows, 40);
+        assertEquals((rows.size() + 9) / 10, chunks.size());
+
+        assertEquals(40, chunks.get(0).getBindArgs().length);
+        assertEquals(rows.size() % 10 * 4, chunks.get(chunks.size() - 1).getBindArgs().length);
+
+        // counting the row amount of table BEFORE perform the target SQL statements.
+        mStatement = QueryStatement.rowCount().from(Suppliers.TABLE_NAME);
+        int beforeRowCount = MyDBOverseer.get().getInt(mStatement);
+
+        for (CreateStatement chunk : chunks) {
+            assertGreatThan((int) MyDBOverseer.get().executeInsert(chunk), 0);
+        }
+
+        int afterRowCount = MyDBOverseer.get().getInt(mStatement);
+        assertEquals(beforeRowCount + rows.size(), afterRowCount);
+
+        // the length limit is counted in UTF-8 bytes, two rows of 200k CJK chars are 1.2M bytes.
+        char[] text = new char[200000];
+        Arrays.fill(text, '\u4e2d');
+        List<Object[]> cjkRows = new ArrayList<Object[]>();
+        cjkRows.add(new Object[]{new String(text), "Beijing"});
+        cjkRows.add(new Object[]{new String(text), "Shanghai"});
+        chunks = CreateStatement.produce(Suppliers.TABLE_NAME)
+                .columns(Suppliers.SUPPLIER_NAME, Suppliers.CITY).valuesInChunks(cjkRows);
+        assertEquals(2, chunks.size());
+
+        // the template which already has rows can't be chunked.
+        try {
+            CreateStatement.produce(Suppliers.TABLE_NAME).columns(Suppliers.SUPPLIER_NAME, Suppliers.CITY)
+                    .values("Exotic Liquid", "Londona").valuesInChunks(rows);
+            fail("The template with rows should be rejected.");
+        } catch (IllegalStateException expected) {
+        }
+
+        // the arguments which the template carried counting against the variable limit of every chunk.
+        Statement subQuery = QueryStatement.produce(Suppliers.CITY).from(Suppliers.TABLE_NAME).binding()
+                .where(Suppliers.SUPPLIER_ID).eq(1);
+        CreateStatement template = CreateStatement.produce(Suppliers.TABLE_NAME).binding()
+                .columns(Suppliers.SUPPLIER_NAME, new Parenthesize(subQuery));
+        List<Object[]> pairs = new ArrayList<Object[]>();
+        for (int i = 0; i < 6; i++) {
+            pairs.add(new Object[]{"Supplier " + i, "City " + i});
+        }
+        chunks = template.valuesInChunks(pairs, 8);
+        assertEquals(2, chunks.size());
+        assertEquals(7, chunks.get(0).getBindArgs().length);
+        try {
+            template.valuesInChunks(pairs, 2);
+            fail("The template without room for a row should be rejected.");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
     public static void assertSuppliersEquals(Supplier leftSupplier, Supplier rightSupplier) {
         assertNotNull(leftSupplier);
         assertEquals(leftSupplier.getSupplierName(), rightSupplier.getSupplierName());
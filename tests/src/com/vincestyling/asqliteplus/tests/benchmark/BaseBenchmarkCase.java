@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.tests.benchmark;
+
+import android.os.SystemClock;
+import android.util.Log;
+import com.vincestyling.asqliteplus.tests.BaseDBTestCase;
+import com.vincestyling.asqliteplus.tests.MyDBOverseer;
+
+/**
+ * Base class of those benchmarks, turning off the SQL debugging output during
+ * measuring because it would dominating the elapsed time of massive operations.
+ * <p/>
+ * The results would be printed to the INFO level Logger, filtering by "adb logcat -s Benchmark".
+ */
+public abstract class BaseBenchmarkCase extends BaseDBTestCase {
+    protected static final String TAG = "Benchmark";
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        MyDBOverseer.get().setIsDebug(false);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        MyDBOverseer.get().setIsDebug(true);
+        super.tearDown();
+    }
+
+    protected static long now() {
+        return SystemClock.elapsedRealtime();
+    }
+
+    protected void report(String format, Object... args) {
+        Log.i(TAG, getClass().getSimpleName() + " : " + String.format(format, args));
+    }
+}
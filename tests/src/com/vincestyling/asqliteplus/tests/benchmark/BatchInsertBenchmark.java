@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.tests.benchmark;
+
+import com.vincestyling.asqliteplus.entity.Product;
+import com.vincestyling.asqliteplus.statement.DeleteStatement;
+import com.vincestyling.asqliteplus.statement.QueryStatement;
+import com.vincestyling.asqliteplus.table.Products;
+import com.vincestyling.asqliteplus.tests.MyDBOverseer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loading the Products at 100k-row scale, comparing the batch which producing an individual SQL
+ * for every entity against the batch which compiling a single template and rebinding per row.
+ */
+public class BatchInsertBenchmark extends BaseBenchmarkCase {
+    private static final int ROW_COUNT = 100000;
+
+    private List<Product> mProducts;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        mProducts = new ArrayList<Product>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Product product = Products.INIT_DATAS.get(i % Products.INIT_DATAS.size());
+            mProducts.add(new Product(i + 1, product.getProductName(), product.getSupplierId(),
+                    product.getCategoryId(), product.getUnit(), product.getPrice()));
+        }
+    }
+
+    public void testBatchInsert() {
+        clearProducts();
+        long startTime = now();
+        assertTrue(MyDBOverseer.get().executeBatch(mProducts, Products.CREATE_DBOPER));
+        long operatorTime = now() - startTime;
+        assertRowCount();
+
+        clearProducts();
+        startTime = now();
+        assertTrue(MyDBOverseer.get().executeBatch(mProducts, Products.CREATE_DBBINDER));
+        long binderTime = now() - startTime;
+        assertRowCount();
+
+        report("%d rows batch insert, SQL per row : %dms, compile once and rebind : %dms",
+                ROW_COUNT, operatorTime, binderTime);
+    }
+
+    private void clearProducts() {
+        MyDBOverseer.get().executeSql(DeleteStatement.produce(Products.TABLE_NAME));
+    }
+
+    private void assertRowCount() {
+        mStatement = QueryStatement.rowCount().from(Products.TABLE_NAME);
+        assertEquals(ROW_COUNT, MyDBOverseer.get().getInt(mStatement));
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.tests.benchmark;
+
+import com.vincestyling.asqliteplus.entity.Supplier;
+import com.vincestyling.asqliteplus.statement.CreateStatement;
+import com.vincestyling.asqliteplus.statement.QueryStatement;
+import com.vincestyling.asqliteplus.table.Suppliers;
+import com.vincestyling.asqliteplus.table.Table;
+import com.vincestyling.asqliteplus.tests.MyDBOverseer;
+
+/**
+ * Comparing the single-row writes between keeping the database connection open
+ * and closing it after every write which was the behavior before leasing.
+ */
+public class ConnectionLifecycleBenchmark extends BaseBenchmarkCase {
+    private static final int ROW_COUNT = 10000;
+
+    @Override
+    protected void setUpDB() throws Exception {
+        Table.prepare(Suppliers.class);
+    }
+
+    public void testSingleRowWrites() {
+        long keepOpenTime = performWrites(false);
+        long reopenTime = performWrites(true);
+
+        report("%d single-row writes, keeping connection open : %dms, reopening connection every write : %dms",
+                ROW_COUNT, keepOpenTime, reopenTime);
+
+        mStatement = QueryStatement.rowCount().from(Suppliers.TABLE_NAME);
+        assertGreatThan(MyDBOverseer.get().getInt(mStatement), ROW_COUNT * 2);
+    }
+
+    private long performWrites(boolean reopenEveryWrite) {
+        Supplier supplier = Suppliers.INIT_DATAS.get(0);
+
+        long startTime = now();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            mStatement = CreateStatement.produce(Suppliers.TABLE_NAME).binding()
+                    .put(Suppliers.SUPPLIER_NAME, supplier.getSupplierName())
+                    .put(Suppliers.CONTACT_NAME, supplier.getContactName())
+                    .put(Suppliers.CITY, supplier.getCity())
+                    .put(Suppliers.COUNTRY, supplier.getCountry());
+            MyDBOverseer.get().executeInsert(mStatement);
+
+            if (reopenEveryWrite) MyDBOverseer.get().shutdown();
+        }
+        return now() - startTime;
+    }
+}
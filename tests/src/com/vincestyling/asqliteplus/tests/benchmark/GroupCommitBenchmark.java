@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.tests.benchmark;
+
+import com.vincestyling.asqliteplus.statement.CreateStatement;
+import com.vincestyling.asqliteplus.statement.DeleteStatement;
+import com.vincestyling.asqliteplus.table.Customers;
+import com.vincestyling.asqliteplus.tests.MyDBOverseer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Several threads inserting small rows at the same time, comparing each insert committing
+ * its own transaction against gathering them by the group commit.
+ */
+public class GroupCommitBenchmark extends BaseBenchmarkCase {
+    private static final int THREAD_COUNT = 4;
+    private static final int INSERT_COUNT = 500;
+
+    public void testConcurrentInserts() throws Exception {
+        long separateTime = performInserts();
+
+        MyDBOverseer.get().setGroupCommit(5, 100);
+        long groupedTime;
+        try {
+            groupedTime = performInserts();
+        } finally {
+            MyDBOverseer.get().setGroupCommit(0, 0);
+        }
+
+        report("%d threads inserting %d rows each, separate : %dms, grouped : %dms",
+                THREAD_COUNT, INSERT_COUNT, separateTime, groupedTime);
+    }
+
+    private long performInserts() throws Exception {
+        MyDBOverseer.get().executeSql(DeleteStatement.produce(Customers.TABLE_NAME));
+        final List<Future<Long>> futures = new ArrayList<Future<Long>>();
+
+        long startTime = now();
+        Thread[] threads = new Thread[THREAD_COUNT];
+        for (int i = 0; i < threads.length; i++) {
+            final int threadNo = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < INSERT_COUNT; j++) {
+                        Future<Long> future = MyDBOverseer.get().executeInsertAsync(
+                                CreateStatement.produce(Customers.TABLE_NAME)
+                                        .put(Customers.CUST_CODE, "C" + threadNo + "_" + j)
+                                        .put(Customers.CUST_NAME, "Vince"));
+                        synchronized (futures) {
+                            futures.add(future);
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Future<Long> future : futures) {
+            assertTrue(future.get() > 0);
+        }
+        return now() - startTime;
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.tests.benchmark;
+
+import com.vincestyling.asqliteplus.entity.Product;
+import com.vincestyling.asqliteplus.statement.Alias;
+import com.vincestyling.asqliteplus.statement.DeleteStatement;
+import com.vincestyling.asqliteplus.statement.Parenthesize;
+import com.vincestyling.asqliteplus.statement.QueryStatement;
+import com.vincestyling.asqliteplus.statement.Scoping;
+import com.vincestyling.asqliteplus.statement.Statement;
+import com.vincestyling.asqliteplus.table.Categories;
+import com.vincestyling.asqliteplus.table.Products;
+import com.vincestyling.asqliteplus.tests.MyDBOverseer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counting a sorted join over 50k Products, comparing the count which wrapping the whole statement
+ * against the count derived by {@link Statement#toCountStatement()} which dropping the ORDER BY
+ * clause and the columns.
+ */
+public class PaginationCountBenchmark extends BaseBenchmarkCase {
+    private static final int ROW_COUNT = 50000;
+    private static final int ROUNDS = 20;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        List<Product> products = new ArrayList<Product>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Product product = Products.INIT_DATAS.get(i % Products.INIT_DATAS.size());
+            products.add(new Product(i + 1, product.getProductName(), product.getSupplierId(),
+                    product.getCategoryId(), product.getUnit(), product.getPrice() + i % 100));
+        }
+
+        MyDBOverseer.get().executeSql(DeleteStatement.produce(Products.TABLE_NAME));
+        assertTrue(MyDBOverseer.get().executeBatch(products, Products.CREATE_DBBINDER));
+    }
+
+    public void testSortedJoinCount() {
+        Alias podAlias = new Alias(Products.TABLE_NAME, "pod");
+        Alias catAlias = new Alias(Categories.TABLE_NAME, "cat");
+        mStatement = QueryStatement.produce(
+                new Scoping(podAlias, Products.PRODUCT_NAME),
+                new Scoping(podAlias, Products.PRICE),
+                new Scoping(catAlias, Categories.CATEGORY_NAME)
+        ).from(podAlias).join(catAlias)
+                .on(new Scoping(podAlias, Products.CATEGORY_ID))
+                .eq(new Scoping(catAlias, Categories.CATEGORY_ID))
+                .where(new Scoping(podAlias, Products.PRICE)).gt(20)
+                .orderBy(new Scoping(podAlias, Products.PRICE)).desc();
+
+        Statement wrappedCount = QueryStatement.rowCount().from(new Parenthesize(mStatement));
+        Statement derivedCount = mStatement.toCountStatement();
+        assertEquals(MyDBOverseer.get().getInt(wrappedCount), MyDBOverseer.get().getInt(derivedCount));
+
+        long startTime = now();
+        for (int i = 0; i < ROUNDS; i++) {
+            MyDBOverseer.get().getInt(wrappedCount);
+        }
+        long wrappedTime = now() - startTime;
+
+        startTime = now();
+        for (int i = 0; i < ROUNDS; i++) {
+            MyDBOverseer.get().getInt(derivedCount);
+        }
+        long derivedTime = now() - startTime;
+
+        report("%d rounds of counting a sorted join over %d rows, wrapped : %dms, derived : %dms",
+                ROUNDS, ROW_COUNT, wrappedTime, derivedTime);
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 Vince Styling
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.vincestyling.asqliteplus.tests.benchmark;
+
+import android.os.Debug;
+import com.vincestyling.asqliteplus.statement.Alias;
+import com.vincestyling.asqliteplus.statement.Function;
+import com.vincestyling.asqliteplus.statement.QueryStatement;
+import com.vincestyling.asqliteplus.statement.Scoping;
+import com.vincestyling.asqliteplus.table.Categories;
+import com.vincestyling.asqliteplus.table.Products;
+
+import static java.lang.String.format;
+
+/**
+ * Rendering a joined SELECT statement repeatedly, comparing the allocations per statement of the former way,
+ * which producing the clauses by {@link String#format} into a 512-chars StringBuilder, against the statement
+ * package which rendering them through a shared appender into a right-sized StringBuilder.
+ * <p/>
+ * The allocations are counted by {@link Debug#getThreadAllocCount()}, which only works on a debuggable build.
+ */
+public class StatementRenderingBenchmark extends BaseBenchmarkCase {
+    private static final int ROUNDS = 10000;
+
+    public void testRenderJoinedStatement() {
+        assertEquals(renderByFormat(0), renderByStatement(0));
+
+        // warming up both of the paths before counting.
+        for (int i = 0; i < ROUNDS; i++) {
+            renderByFormat(i);
+            renderByStatement(i);
+        }
+
+        Debug.startAllocCounting();
+        try {
+            Debug.resetThreadAllocCount();
+            Debug.resetThreadAllocSize();
+            long startTime = now();
+            for (int i = 0; i < ROUNDS; i++) {
+                renderByFormat(i);
+            }
+            long formatTime = now() - startTime;
+            int formatCount = Debug.getThreadAllocCount();
+            int formatSize = Debug.getThreadAllocSize();
+
+            Debug.resetThreadAllocCount();
+            Debug.resetThreadAllocSize();
+            startTime = now();
+            for (int i = 0; i < ROUNDS; i++) {
+                renderByStatement(i);
+            }
+            long statementTime = now() - startTime;
+            int statementCount = Debug.getThreadAllocCount();
+            int statementSize = Debug.getThreadAllocSize();
+
+            report("%d rounds of rendering a joined statement, String.format : %dms %d objects %d bytes per statement"
+                            + ", appender : %dms %d objects %d bytes per statement", ROUNDS,
+                    formatTime, formatCount / ROUNDS, formatSize / ROUNDS,
+                    statementTime, statementCount / ROUNDS, statementSize / ROUNDS);
+        } finally {
+            Debug.stopAllocCounting();
+        }
+    }
+
+    private static String renderByStatement(int price) {
+        Alias podAlias = new Alias(Products.TABLE_NAME, "pod");
+        Alias catAlias = new Alias(Categories.TABLE_NAME, "cat");
+        return QueryStatement.produce(
+                new Scoping(podAlias, Products.PRODUCT_NAME),
+                new Alias(Function.max(new Scoping(podAlias, Products.PRICE)), "max_price"),
+                new Scoping(catAlias, Categories.CATEGORY_NAME)
+        ).from(podAlias).join(catAlias)
+                .on(new Scoping(podAlias, Products.CATEGORY_ID))
+                .eq(new Scoping(catAlias, Categories.CATEGORY_ID))
+                .where(new Scoping(podAlias, Products.PRICE)).gt(price)
+                .groupBy(new Scoping(catAlias, Categories.CATEGORY_NAME)).toString();
+    }
+
+    /**
+     * Rendering the same statement as {@link #renderByStatement(int)} by the former way.
+     */
+    private static String renderByFormat(int price) {
+        String podAlias = format("%s AS %s", Products.TABLE_NAME, "pod");
+        String catAlias = format("%s AS %s", Categories.TABLE_NAME, "cat");
+        StringBuilder statement = new StringBuilder(512);
+        statement.append("SELECT ").append(format("%s.%s", "pod", Products.PRODUCT_NAME))
+                .append(", ").append(format("%s AS %s", format("max(%s)", format("%s.%s", "pod", Products.PRICE)), "max_price"))
+                .append(", ").append(format("%s.%s", "cat", Categories.CATEGORY_NAME))
+                .append(" FROM ").append(podAlias).append(" JOIN ").append(catAlias)
+                .append(" ON ").append(format("%s.%s", "pod", Products.CATEGORY_ID))
+                .append(" = ").append(format("%s.%s", "cat", Categories.CATEGORY_ID))
+                .append(" WHERE ").append(format("%s.%s", "pod", Products.PRICE)).append(" > ").append(price)
+                .append(" GROUP BY ").append(format("%s.%s", "cat", Categories.CATEGORY_NAME));
+        return statement.toString();
+    }
+}
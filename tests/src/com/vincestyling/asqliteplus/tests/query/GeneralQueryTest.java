@@ -20,6 +20,8 @@ import com.vincestyling.asqliteplus.table.Categories;
 import com.vincestyling.asqliteplus.table.Products;
 import com.vincestyling.asqliteplus.tests.BaseDBTestCase;
 
+import java.util.Set;
+
 public class GeneralQueryTest extends BaseDBTestCase {
 
     public void testDistinctClause() {
@@ -175,4 +177,69 @@ public class GeneralQueryTest extends BaseDBTestCase {
                 " UNION ALL " +
                 "SELECT product_id, product_name, price, category_id, supplier_id FROM Products WHERE unit LIKE '24%'", 46);
     }
+
+    public void testBindingMode() {
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME).binding()
+                .where(Products.PRODUCT_NAME).eq("Chais' or '1' = '1");
+
+        assertResultSizeEquals("SELECT * FROM Products WHERE product_name = ?", 0);
+
+        mStatement = QueryStatement.produce().from(Products.TABLE_NAME).binding()
+                .where(Products.SUPPLIER_ID).in(1, 2, 3).and(Products.UNIT).likeEndsWith("bottles")
+                .and(Products.CATEGORY_ID).in(QueryStatement.produce(Categories.CATEGORY_ID)
+                        .from(Categories.TABLE_NAME).binding().where(Categories.CATEGORY_ID).neq(1));
+
+        assertResultSizeEquals("SELECT * FROM Products WHERE supplier_id IN (?, ?, ?) AND unit LIKE ? AND " +
+                "category_id IN (SELECT category_id FROM Categories WHERE category_id <> ?)", 2);
+
+        Object[] bindArgs = mStatement.getBindArgs();
+        assertEquals(5, bindArgs.length);
+        assertEquals("%bottles", bindArgs[3]);
+        assertEquals(1, bindArgs[4]);
+
+        mStatement = QueryStatement.produce(Products.CATEGORY_ID).from(Products.TABLE_NAME).binding()
+                .groupBy(Products.CATEGORY_ID).having(Function.count()).gt(10);
+
+        assertResultSizeEquals("SELECT category_id FROM Products GROUP BY category_id HAVING count(*) > ?", 4);
+    }
+
+    public void testReferencedTables() {
+        Alias podAlias = new Alias(Products.TABLE_NAME, "pod");
+        mStatement = QueryStatement.produce().from(podAlias)
+                .where(new Scoping(podAlias, Products.CATEGORY_ID)).in(QueryStatement.produce(Categories.CATEGORY_ID)
+                        .from(Categories.TABLE_NAME).where(Categories.CATEGORY_ID).neq(1));
+
+        assertEquals(2, mStatement.getTables().size());
+        assertTrue(mStatement.getTables().contains(Products.TABLE_NAME.toLowerCase()));
+        assertTrue(mStatement.getTables().contains(Categories.TABLE_NAME.toLowerCase()));
+
+        mStatement = QueryStatement.rowCount().from(new Parenthesize(mStatement));
+        assertEquals(2, mStatement.getTables().size());
+
+        mStatement = QueryStatement.produce().from("(SELECT * FROM " + Products.TABLE_NAME + ")");
+        assertTrue(mStatement.getTables().contains(Statement.ANY_TABLE));
+
+        mStatement = UpdateStatement.produce(Products.TABLE_NAME).set(Products.PRICE, 1);
+        assertEquals(1, mStatement.getTables().size());
+        assertTrue(mStatement.getTables().contains(Products.TABLE_NAME.toLowerCase()));
+        // parsing the tables of raw SQLs.
+        Set<String> tables = Statement.parseTables("SELECT * FROM Products pod, Suppliers AS sup " +
+                "JOIN Categories ON pod.category_id = Categories.category_id WHERE pod.product_name <> 'FROM Customers'");
+        assertEquals(3, tables.size());
+        assertTrue(tables.contains("products") && tables.contains("suppliers") && tables.contains("categories"));
+
+        tables = Statement.parseTables("INSERT OR REPLACE INTO Customers(cust_code) SELECT code FROM (SELECT * FROM Suppliers)");
+        assertEquals(2, tables.size());
+        assertTrue(tables.contains("customers") && tables.contains("suppliers"));
+
+        assertTrue(Statement.parseTables("UPDATE OR ROLLBACK \"Products\" SET price = 1").contains("products"));
+        assertTrue(Statement.parseTables("DROP TABLE IF EXISTS Products").contains("products"));
+        assertTrue(Statement.parseTables("PRAGMA journal_mode").isEmpty());
+
+        // the UPDATE of an upsert isn't naming a table.
+        tables = Statement.parseTables("INSERT INTO Customers(cust_code, cust_name) VALUES('C1', 'Vince') " +
+                "ON CONFLICT(cust_code) DO UPDATE SET cust_name = excluded.cust_name");
+        assertEquals(1, tables.size());
+        assertTrue(tables.contains("customers"));
+    }
 }
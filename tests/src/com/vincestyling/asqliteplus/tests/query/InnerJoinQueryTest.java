@@ -19,9 +19,12 @@ import com.vincestyling.asqliteplus.statement.Alias;
 import com.vincestyling.asqliteplus.statement.Function;
 import com.vincestyling.asqliteplus.statement.QueryStatement;
 import com.vincestyling.asqliteplus.statement.Scoping;
+import com.vincestyling.asqliteplus.statement.Statement;
 import com.vincestyling.asqliteplus.table.Categories;
 import com.vincestyling.asqliteplus.table.Products;
 import com.vincestyling.asqliteplus.tests.BaseDBTestCase;
+import com.vincestyling.asqliteplus.tests.MyDBOverseer;
+import com.vincestyling.asqliteplus.tests.SimpleRowMapper;
 
 public final class InnerJoinQueryTest extends BaseDBTestCase {
 
@@ -119,4 +122,41 @@ public final class InnerJoinQueryTest extends BaseDBTestCase {
 
         assertResultSizeEquals("SELECT * FROM Products CROSS JOIN Categories", 616);
     }
+
+    public void testCountStatement() {
+        Alias podAlias = new Alias(Products.TABLE_NAME, "pod");
+        Alias catAlias = new Alias(Categories.TABLE_NAME, "cat");
+        mStatement = QueryStatement.produce(
+                new Scoping(podAlias, Products.PRODUCT_NAME),
+                new Scoping(catAlias, Categories.CATEGORY_NAME)
+        ).from(podAlias).join(catAlias)
+                .on(new Scoping(podAlias, Products.CATEGORY_ID))
+                .eq(new Scoping(catAlias, Categories.CATEGORY_ID))
+                .orderBy(new Scoping(podAlias, Products.PRICE)).desc();
+
+        Statement countStmt = mStatement.toCountStatement();
+        assertSQLEquals("SELECT count(*) FROM Products AS pod JOIN Categories AS cat " +
+                "ON pod.category_id = cat.category_id", countStmt);
+        assertEquals(77, MyDBOverseer.get().getInt(countStmt));
+
+        countStmt = mStatement.toCountStatement(10);
+        assertSQLEquals("SELECT count(*) FROM (SELECT 1 FROM Products AS pod JOIN Categories AS cat " +
+                "ON pod.category_id = cat.category_id LIMIT 10)", countStmt);
+        assertEquals(10, MyDBOverseer.get().getInt(countStmt));
+
+        mStatement = QueryStatement.produce(Products.CATEGORY_ID, Function.avg(Products.PRICE))
+                .from(Products.TABLE_NAME).groupBy(Products.CATEGORY_ID).orderBy(Products.CATEGORY_ID);
+        countStmt = mStatement.toCountStatement();
+        assertSQLEquals("SELECT count(*) FROM (SELECT 1 FROM Products GROUP BY category_id)", countStmt);
+        assertEquals(8, MyDBOverseer.get().getInt(countStmt));
+
+        // the alias could be referenced by other clauses, keep the columns.
+        mStatement = QueryStatement.produce(new Alias(Function.avg(Products.PRICE), "avg_price"))
+                .from(Products.TABLE_NAME).groupBy(Products.CATEGORY_ID).having("avg_price").gt(30);
+        countStmt = mStatement.toCountStatement();
+        assertSQLEquals("SELECT count(*) FROM (SELECT avg(price) AS avg_price FROM Products " +
+                "GROUP BY category_id HAVING avg_price > 30)", countStmt);
+        assertEquals(MyDBOverseer.get().getList(mStatement, new SimpleRowMapper()).size(),
+                MyDBOverseer.get().getInt(countStmt));
+    }
 }